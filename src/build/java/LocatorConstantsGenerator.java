@@ -0,0 +1,124 @@
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Build-time generator that turns each locators/*.json file into a Java class of precompiled
+ * {@code utils.Locator} constants, e.g. LoginPage.json becomes {@code pageobjects.locators.LoginPageLocators}.
+ * <p>
+ * Run by the exec-maven-plugin in the generate-test-sources phase (see pom.xml) with the JDK single-file
+ * source launcher:
+ * <pre>
+ * java -cp json.jar src/build/java/LocatorConstantsGenerator.java &lt;locatorDir&gt; &lt;outputDir&gt; &lt;package&gt;
+ * </pre>
+ * Unknown locator types and keys that map to the same constant name fail the build.
+ */
+public class LocatorConstantsGenerator {
+
+    private static final Map<String, String> BY_FACTORIES = Map.of(
+            "id", "By.id",
+            "name", "By.name",
+            "css", "By.cssSelector",
+            "xpath", "By.xpath",
+            "class", "By.className",
+            "tag", "By.tagName",
+            "linktext", "By.linkText",
+            "partiallinktext", "By.partialLinkText");
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            throw new IllegalArgumentException("Usage: LocatorConstantsGenerator <locatorDir> <outputDir> <package>");
+        }
+        Path locatorDir = Path.of(args[0]);
+        Path packageDir = Path.of(args[1]).resolve(args[2].replace('.', '/'));
+        Files.createDirectories(packageDir);
+
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(locatorDir)) {
+            files = stream.filter(path -> path.getFileName().toString().endsWith(".json"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        for (Path file : files) {
+            String pageName = file.getFileName().toString().replaceFirst("\\.json$", "");
+            String className = Character.toUpperCase(pageName.charAt(0)) + pageName.substring(1) + "Locators";
+            String source = generate(args[2], className, file);
+            Path target = packageDir.resolve(className + ".java");
+
+            // Only rewrite changed files so incremental compilation is not triggered needlessly
+            if (!Files.exists(target) || !Files.readString(target, StandardCharsets.UTF_8).equals(source)) {
+                Files.writeString(target, source, StandardCharsets.UTF_8);
+            }
+        }
+        System.out.println("Generated locator constants for " + files.size() + " locator files into " + packageDir);
+    }
+
+    private static String generate(String packageName, String className, Path file) throws IOException {
+        JSONObject json = new JSONObject(Files.readString(file, StandardCharsets.UTF_8));
+        String fileName = file.getFileName().toString();
+
+        List<String> constants = new ArrayList<>();
+        Map<String, String> constantNames = new HashMap<>();
+        for (String key : new TreeSet<>(json.keySet())) {
+            JSONObject locatorData = json.getJSONObject(key);
+            String type = locatorData.getString("type").toLowerCase();
+            String factory = BY_FACTORIES.get(type);
+            if (factory == null) {
+                throw new IllegalArgumentException("Unsupported locator type '" + type + "' for key '" + key + "' in " + fileName);
+            }
+
+            String constantName = toConstantName(key);
+            String clash = constantNames.put(constantName, key);
+            if (clash != null) {
+                throw new IllegalArgumentException("Keys '" + clash + "' and '" + key + "' in " + fileName + " both map to constant " + constantName);
+            }
+
+            constants.add("    public static final Locator " + constantName + " = new Locator(\"" + escape(key) + "\", "
+                    + factory + "(\"" + escape(locatorData.getString("value")) + "\"));\n");
+        }
+
+        StringBuilder source = new StringBuilder();
+        source.append("package ").append(packageName).append(";\n\n");
+        if (!constants.isEmpty()) {
+            source.append("import org.openqa.selenium.By;\n");
+            source.append("import utils.Locator;\n\n");
+        }
+        source.append("/**\n");
+        source.append(" * Locators from locators/").append(fileName).append(".\n");
+        source.append(" * Generated at build time by LocatorConstantsGenerator, do not edit.\n");
+        source.append(" */\n");
+        source.append("public final class ").append(className).append(" {\n\n");
+        for (String constant : constants) {
+            source.append(constant);
+        }
+        if (!constants.isEmpty()) {
+            source.append("\n");
+        }
+        source.append("    private ").append(className).append("() {\n");
+        source.append("    }\n");
+        source.append("}\n");
+        return source.toString();
+    }
+
+    private static String toConstantName(String key) {
+        String name = key.replaceAll("([a-z0-9])([A-Z])", "$1_$2")
+                .replaceAll("[^A-Za-z0-9]+", "_")
+                .toUpperCase();
+        return Character.isDigit(name.charAt(0)) ? "_" + name : name;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
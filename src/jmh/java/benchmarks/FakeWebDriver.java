@@ -0,0 +1,393 @@
+package benchmarks;
+
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.logging.LogEntries;
+import org.openqa.selenium.logging.Logs;
+
+import java.net.URL;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory WebDriver for benchmarking the framework without a browser.
+ * Every lookup finds the same visible, enabled element and scripts report a loaded page,
+ * so a benchmark measures only the framework code around the driver calls. Navigation, window, timeout and
+ * frame commands are accepted and do nothing.
+ */
+public class FakeWebDriver implements WebDriver, JavascriptExecutor {
+
+    /** A 1x1 transparent PNG, returned for every screenshot. */
+    private static final String SCREENSHOT_PNG =
+            "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAQAAAC1HAwCAAAAC0lEQVR42mNkYAAAAAYAAjCB0C8AAAAASUVORK5CYII=";
+
+    private final WebElement element = new FakeWebElement();
+    private final Options options = new FakeOptions();
+    private final Navigation navigation = new FakeNavigation();
+    private final TargetLocator targetLocator = new FakeTargetLocator();
+
+    @Override
+    public void get(String url) {
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        return "about:blank";
+    }
+
+    @Override
+    public String getTitle() {
+        return "Swag Labs";
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return List.of(element);
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return element;
+    }
+
+    @Override
+    public String getPageSource() {
+        return "<html></html>";
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void quit() {
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        return Set.of("main");
+    }
+
+    @Override
+    public String getWindowHandle() {
+        return "main";
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        return targetLocator;
+    }
+
+    @Override
+    public Navigation navigate() {
+        return navigation;
+    }
+
+    @Override
+    public Options manage() {
+        return options;
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        return "complete";  // Answers document.readyState checks
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        return element;
+    }
+
+    private static final class FakeWebElement implements WebElement {
+
+        @Override
+        public void click() {
+        }
+
+        @Override
+        public void submit() {
+        }
+
+        @Override
+        public void sendKeys(CharSequence... keysToSend) {
+        }
+
+        @Override
+        public void clear() {
+        }
+
+        @Override
+        public String getTagName() {
+            return "div";
+        }
+
+        @Override
+        public String getAttribute(String name) {
+            return null;
+        }
+
+        @Override
+        public boolean isSelected() {
+            return false;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public String getText() {
+            return "Total: $10.79";
+        }
+
+        @Override
+        public List<WebElement> findElements(By by) {
+            return List.of(this);
+        }
+
+        @Override
+        public WebElement findElement(By by) {
+            return this;
+        }
+
+        @Override
+        public boolean isDisplayed() {
+            return true;
+        }
+
+        @Override
+        public Point getLocation() {
+            return new Point(0, 0);
+        }
+
+        @Override
+        public Dimension getSize() {
+            return new Dimension(100, 20);
+        }
+
+        @Override
+        public Rectangle getRect() {
+            return new Rectangle(getLocation(), getSize());
+        }
+
+        @Override
+        public String getCssValue(String propertyName) {
+            return "";
+        }
+
+        @Override
+        public <X> X getScreenshotAs(OutputType<X> target) {
+            return target.convertFromBase64Png(SCREENSHOT_PNG);
+        }
+    }
+
+    private static final class FakeOptions implements Options {
+
+        private final Timeouts timeouts = new FakeTimeouts();
+        private final Window window = new FakeWindow();
+
+        @Override
+        public void addCookie(Cookie cookie) {
+        }
+
+        @Override
+        public void deleteCookieNamed(String name) {
+        }
+
+        @Override
+        public void deleteCookie(Cookie cookie) {
+        }
+
+        @Override
+        public void deleteAllCookies() {
+        }
+
+        @Override
+        public Set<Cookie> getCookies() {
+            return Set.of();
+        }
+
+        @Override
+        public Cookie getCookieNamed(String name) {
+            return null;
+        }
+
+        @Override
+        public Timeouts timeouts() {
+            return timeouts;
+        }
+
+        @Override
+        public Window window() {
+            return window;
+        }
+
+        @Override
+        public Logs logs() {
+            return new Logs() {
+                @Override
+                public LogEntries get(String logType) {
+                    return new LogEntries(List.of());
+                }
+
+                @Override
+                public Set<String> getAvailableLogTypes() {
+                    return Set.of();
+                }
+            };
+        }
+    }
+
+    private static final class FakeTimeouts implements Timeouts {
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public Timeouts implicitlyWait(long time, TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        public Timeouts implicitlyWait(Duration duration) {
+            return this;
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public Timeouts setScriptTimeout(long time, TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        public Timeouts scriptTimeout(Duration duration) {
+            return this;
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public Timeouts pageLoadTimeout(long time, TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        public Timeouts pageLoadTimeout(Duration duration) {
+            return this;
+        }
+    }
+
+    private static final class FakeWindow implements Window {
+
+        @Override
+        public Dimension getSize() {
+            return new Dimension(1920, 1080);
+        }
+
+        @Override
+        public void setSize(Dimension targetSize) {
+        }
+
+        @Override
+        public Point getPosition() {
+            return new Point(0, 0);
+        }
+
+        @Override
+        public void setPosition(Point targetPosition) {
+        }
+
+        @Override
+        public void maximize() {
+        }
+
+        @Override
+        public void minimize() {
+        }
+
+        @Override
+        public void fullscreen() {
+        }
+    }
+
+    private static final class FakeNavigation implements Navigation {
+
+        @Override
+        public void back() {
+        }
+
+        @Override
+        public void forward() {
+        }
+
+        @Override
+        public void to(String url) {
+        }
+
+        @Override
+        public void to(URL url) {
+        }
+
+        @Override
+        public void refresh() {
+        }
+    }
+
+    private final class FakeTargetLocator implements TargetLocator {
+
+        @Override
+        public WebDriver frame(int index) {
+            return FakeWebDriver.this;
+        }
+
+        @Override
+        public WebDriver frame(String nameOrId) {
+            return FakeWebDriver.this;
+        }
+
+        @Override
+        public WebDriver frame(WebElement frameElement) {
+            return FakeWebDriver.this;
+        }
+
+        @Override
+        public WebDriver parentFrame() {
+            return FakeWebDriver.this;
+        }
+
+        @Override
+        public WebDriver window(String nameOrHandle) {
+            return FakeWebDriver.this;
+        }
+
+        @Override
+        public WebDriver newWindow(WindowType typeHint) {
+            return FakeWebDriver.this;
+        }
+
+        @Override
+        public WebDriver defaultContent() {
+            return FakeWebDriver.this;
+        }
+
+        @Override
+        public WebElement activeElement() {
+            return element;
+        }
+
+        @Override
+        public Alert alert() {
+            throw new NoAlertPresentException("The fake page never opens alerts");
+        }
+    }
+}
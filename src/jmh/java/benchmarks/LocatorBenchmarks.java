@@ -0,0 +1,65 @@
+package benchmarks;
+
+import org.json.JSONObject;
+import org.openqa.selenium.By;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.JsonUtil;
+import utils.LocatorRegistry;
+import utils.LocatorUtil;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading, compiling and looking up page locators.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocatorBenchmarks {
+
+    private JSONObject checkoutJson;
+    private LocatorUtil checkoutLocators;
+
+    @Setup
+    public void setUp() {
+        checkoutJson = JsonUtil.loadJson("CheckoutPage.json");
+        checkoutLocators = new LocatorUtil(LocatorRegistry.getInstance().forPage("CheckoutPage.json"));
+    }
+
+    /** Reading and parsing one locator file from the classpath. */
+    @Benchmark
+    public JSONObject loadJson() {
+        return JsonUtil.loadJson("CheckoutPage.json");
+    }
+
+    /** Compiling every entry of a parsed locator file into a By (getBy per entry). */
+    @Benchmark
+    public Map<String, By> compileLocators() {
+        return LocatorUtil.compile(checkoutJson);
+    }
+
+    /** Looking up one precompiled locator by key. */
+    @Benchmark
+    public By getLocator() {
+        return checkoutLocators.getLocator("firstNameField");
+    }
+
+    /** Fetching a page's locators from the shared registry, as every page constructor does. */
+    @Benchmark
+    public Map<String, By> registryForPage() {
+        return LocatorRegistry.getInstance().forPage("CheckoutPage.json");
+    }
+}
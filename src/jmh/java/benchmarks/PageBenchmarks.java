@@ -0,0 +1,91 @@
+package benchmarks;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pageobjects.LoginPage;
+import pageobjects.SummaryPage;
+import utils.BrowserUtil;
+import utils.InBrowserWait;
+import utils.WaitUtil;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Page object construction and element actions against the {@link FakeWebDriver}, i.e. the framework's own
+ * cost per action without browser round-trips.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageBenchmarks {
+
+    private FakeWebDriver driver;
+    private WaitUtil waitUtil;
+    private SummaryPage summaryPage;
+    private BrowserUtil browserUtil;
+    private InBrowserWait inBrowserWait;
+    private final By totalLabel = By.cssSelector("div.summary_total_label[data-test='total-label']");
+
+    @Setup
+    public void setUp() {
+        SupportBenchmarks.configureForBenchmarks();
+        Configurator.setRootLevel(Level.WARN);  // Keeps per-action INFO logging out of the JMH output
+        driver = new FakeWebDriver();
+        waitUtil = new WaitUtil(driver);
+        summaryPage = new SummaryPage(driver);
+        browserUtil = new BrowserUtil(driver);
+        inBrowserWait = new InBrowserWait(driver);
+    }
+
+    /** Creating a page object: registry lookup, wait utility, form filler and element cache. */
+    @Benchmark
+    public LoginPage constructPage() {
+        return new LoginPage(driver);
+    }
+
+    /** Creating a wait utility, as every page object does. */
+    @Benchmark
+    public WaitUtil constructWaitUtil() {
+        return new WaitUtil(driver);
+    }
+
+    /** A visibility wait whose condition holds on the first check. */
+    @Benchmark
+    public WebElement waitForVisible() {
+        return waitUtil.waitForElementToBeVisible(totalLabel);
+    }
+
+    /** A complete page action: wait, find and read text. */
+    @Benchmark
+    public String getTotalValue() {
+        return summaryPage.getTotalValue();
+    }
+
+    /** A wait run inside the page, including the per-session script timeout check. */
+    @Benchmark
+    public Object waitInBrowser() {
+        return inBrowserWait.waitFor(InBrowserWait.Condition.VISIBLE, totalLabel, Duration.ofSeconds(10));
+    }
+
+    /** A history navigation: element cache invalidation and the driver call. */
+    @Benchmark
+    public void navigateBack() {
+        browserUtil.navigateBack();
+    }
+}
@@ -0,0 +1,67 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.ConfigReader;
+import utils.JavaHelper;
+import utils.TestConfig;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration lookups and test data generation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SupportBenchmarks {
+
+    /**
+     * Provide the configuration a benchmark fork needs when no source TestConfig reads sets it.
+     */
+    static void configureForBenchmarks() {
+        try {
+            TestConfig.get();
+        } catch (IllegalStateException e) {
+            if (System.getProperty("browser") != null) {
+                throw e;  // Not a missing browser, so there is nothing to fill in
+            }
+            System.setProperty("browser", "chrome");  // A failed load is not cached, so the next one sees it
+            TestConfig.get();
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        configureForBenchmarks();
+    }
+
+    /** Reading a property through the ConfigReader facade used by tests. */
+    @Benchmark
+    public String configReaderGetProperty() {
+        return new ConfigReader().getProperty("browser");
+    }
+
+    /** Reading a typed value from the configuration snapshot. */
+    @Benchmark
+    public int testConfigGetInt() {
+        return TestConfig.get().getInt("defaultTimeout", 10);
+    }
+
+    /** Generating a random string, e.g. for form input. */
+    @Benchmark
+    public String generateRandomString() {
+        return JavaHelper.generateRandomString(12);
+    }
+}
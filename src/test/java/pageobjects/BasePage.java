@@ -1,33 +1,62 @@
 package pageobjects;
 
-import org.json.JSONObject;
 import org.openqa.selenium.By;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import utils.JsonUtil;
+import utils.ActionContext;
+import utils.ElementCache;
+import utils.FormFiller;
+import utils.Locator;
+import utils.LocatorRegistry;
 import utils.LocatorUtil;
+import utils.ScreenshotUtil;
+import utils.TestConfig;
+import utils.TestContext;
+import utils.VisualCheckpoint;
 import utils.WaitUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
 public class BasePage {
     protected WebDriver driver;
-    protected JSONObject locators;
     protected LocatorUtil locatorUtil;
     protected WaitUtil waitUtil;
+    protected FormFiller formFiller;
+    protected ElementCache elementCache;
     protected static final Logger logger = LogManager.getLogger(BasePage.class);
 
     /**
      * Constructor to initialize WebDriver, LocatorUtil, and the JSON file with locators.
-     * The locators are loaded from a JSON file specific to each page.
+     * The locators of each page's JSON file are preloaded and compiled once by the LocatorRegistry.
      *
      * @param driver WebDriver instance
      */
     public BasePage(WebDriver driver) {
         this.driver = driver;
-        this.locators = JsonUtil.loadJson(getPageJsonFileName());  // Load locators from JSON
-        this.locatorUtil = new LocatorUtil(locators);  // Initialize locator utility
+        this.locatorUtil = new LocatorUtil(LocatorRegistry.getInstance().forPage(getPageJsonFileName()));  // Shared precompiled locators
         this.waitUtil = new WaitUtil(driver);  // Initialize wait utility
+        this.formFiller = new FormFiller(waitUtil);  // Batched form filling
+        this.elementCache = ElementCache.forDriver(driver);  // Shared by all pages of the session
+    }
+
+    /**
+     * Constructor that resolves the WebDriver of the test running on the current thread.
+     * Safe to use when test methods run in parallel.
+     */
+    public BasePage() {
+        this(TestContext.driver());
     }
 
     /**
@@ -39,6 +68,18 @@ public class BasePage {
         return "defaultPage.json";  // Default JSON file, overridden in child classes
     }
 
+    /**
+     * Whether element actions reuse elements found earlier in the same document instead of waiting for and
+     * finding them again. Enabled for all pages with {@code element_cache_enabled=true}; pages can override this.
+     * A cached element is used as it is, so actions on it skip the visibility and clickability checks;
+     * if it went stale or cannot be interacted with, it is found again with the usual wait.
+     *
+     * @return True to cache elements of this page
+     */
+    protected boolean isElementCacheEnabled() {
+        return TestConfig.get().getBoolean("element_cache_enabled", false);
+    }
+
     /**
      * Retrieve the locator based on the key from the JSON file.
      * The locator type (CSS, XPath, ID, etc.) is determined dynamically.
@@ -50,6 +91,16 @@ public class BasePage {
         return locatorUtil.getLocator(key);
     }
 
+    /**
+     * Resolve a JSON locator key into a typed Locator.
+     *
+     * @param key The key identifying the locator in JSON.
+     * @return The Locator for the key.
+     */
+    protected Locator locate(String key) {
+        return new Locator(key, getLocator(key));
+    }
+
     /**
      * Click an element after ensuring it is clickable.
      * The locator type is automatically determined from JSON.
@@ -57,10 +108,35 @@ public class BasePage {
      * @param key The key identifying the locator in JSON.
      */
     public void clickElement(String key) {
-        logger.info("Attempting to click on element: {}", key);  // Log the element being clicked
-        By locator = getLocator(key);
-        waitUtil.waitForElementToBeClickable(locator).click();
-        logger.info("Clicked on element: {}", key);  // Log successful click
+        clickElement(locate(key));
+    }
+
+    /**
+     * Click an element after ensuring it is clickable.
+     *
+     * @param locator Generated locator constant, e.g. {@code CartPageLocators.CHECKOUT_BUTTON}.
+     */
+    public void clickElement(Locator locator) {
+        try (ActionContext.Scope ignored = action("clickElement", locator)) {
+            logger.info("Attempting to click on element: {}", locator);  // Log the element being clicked
+            withElement(locator, this::waitForElementToBeClickable, element -> {
+                element.click();
+                return null;
+            });
+            logger.info("Clicked on element: {}", locator);  // Log successful click
+        }
+    }
+
+    /**
+     * Wait for an element to be clickable and return it.
+     *
+     * @param locator Generated locator constant.
+     * @return WebElement once it is clickable.
+     */
+    public WebElement waitForElementToBeClickable(Locator locator) {
+        try (ActionContext.Scope ignored = action("waitForElementToBeClickable", locator)) {
+            return waitUtil.waitForElementToBeClickable(locator.getBy());
+        }
     }
 
     /**
@@ -71,11 +147,22 @@ public class BasePage {
      * @return WebElement once it is visible.
      */
     public WebElement waitForElementToBeVisible(String key) {
-        logger.info("Waiting for element to be visible: {}", key);  // Log the element being waited for
-        By locator = getLocator(key);
-        WebElement element = waitUtil.waitForElementToBeVisible(locator);
-        logger.info("Element visible: {}", key);  // Log when element becomes visible
-        return element;
+        return waitForElementToBeVisible(locate(key));
+    }
+
+    /**
+     * Wait for an element to be visible and return it.
+     *
+     * @param locator Generated locator constant.
+     * @return WebElement once it is visible.
+     */
+    public WebElement waitForElementToBeVisible(Locator locator) {
+        try (ActionContext.Scope ignored = action("waitForElementToBeVisible", locator)) {
+            logger.info("Waiting for element to be visible: {}", locator);  // Log the element being waited for
+            WebElement element = waitUtil.waitForElementToBeVisible(locator.getBy());
+            logger.info("Element visible: {}", locator);  // Log when element becomes visible
+            return element;
+        }
     }
 
     /**
@@ -86,10 +173,24 @@ public class BasePage {
      * @param text The text to enter.
      */
     public void sendKeysToElement(String key, String text) {
-        logger.info("Entering text '{}' into element: {}", text, key);  // Log text entry
-        WebElement element = waitForElementToBeVisible(key);
-        element.sendKeys(text);
-        logger.info("Text '{}' entered into element: {}", text, key);  // Log successful text entry
+        sendKeysToElement(locate(key), text);
+    }
+
+    /**
+     * Enter text into an input field.
+     *
+     * @param locator Generated locator constant.
+     * @param text    The text to enter.
+     */
+    public void sendKeysToElement(Locator locator, String text) {
+        try (ActionContext.Scope ignored = action("sendKeysToElement", locator)) {
+            logger.info("Entering text '{}' into element: {}", text, locator);  // Log text entry
+            withElement(locator, this::waitForElementToBeVisible, element -> {
+                element.sendKeys(text);
+                return null;
+            });
+            logger.info("Text '{}' entered into element: {}", text, locator);  // Log successful text entry
+        }
     }
 
     /**
@@ -100,11 +201,22 @@ public class BasePage {
      * @return The extracted text.
      */
     public String getElementText(String key) {
-        logger.info("Retrieving text from element: {}", key);  // Log text retrieval
-        WebElement element = waitForElementToBeVisible(key);
-        String text = element.getText();
-        logger.info("Retrieved text from element {}: {}", key, text);  // Log the text retrieved
-        return text;
+        return getElementText(locate(key));
+    }
+
+    /**
+     * Retrieve text from an element.
+     *
+     * @param locator Generated locator constant.
+     * @return The extracted text.
+     */
+    public String getElementText(Locator locator) {
+        try (ActionContext.Scope ignored = action("getElementText", locator)) {
+            logger.info("Retrieving text from element: {}", locator);  // Log text retrieval
+            String text = withElement(locator, this::waitForElementToBeVisible, WebElement::getText);
+            logger.info("Retrieved text from element {}: {}", locator, text);  // Log the text retrieved
+            return text;
+        }
     }
 
     /**
@@ -115,11 +227,25 @@ public class BasePage {
      * @param text The text to enter after clearing.
      */
     public void clearAndSendKeys(String key, String text) {
-        logger.info("Clearing and entering text '{}' into element: {}", text, key);  // Log clearing and text entry
-        WebElement element = waitForElementToBeVisible(key);
-        element.clear();
-        element.sendKeys(text);
-        logger.info("Text '{}' entered into element after clearing: {}", text, key);  // Log successful text entry
+        clearAndSendKeys(locate(key), text);
+    }
+
+    /**
+     * Clear an input field and enter new text.
+     *
+     * @param locator Generated locator constant.
+     * @param text    The text to enter after clearing.
+     */
+    public void clearAndSendKeys(Locator locator, String text) {
+        try (ActionContext.Scope ignored = action("clearAndSendKeys", locator)) {
+            logger.info("Clearing and entering text '{}' into element: {}", text, locator);  // Log clearing and text entry
+            withElement(locator, this::waitForElementToBeVisible, element -> {
+                element.clear();
+                element.sendKeys(text);
+                return null;
+            });
+            logger.info("Text '{}' entered into element after clearing: {}", text, locator);  // Log successful text entry
+        }
     }
 
     /**
@@ -130,16 +256,160 @@ public class BasePage {
      * @return True if the element is visible, false otherwise.
      */
     public boolean isElementPresent(String key) {
-        logger.info("Checking if element is present: {}", key);  // Log element presence check
+        return isElementPresent(locate(key));
+    }
+
+    /**
+     * Check if an element is present and visible on the page.
+     *
+     * @param locator Generated locator constant.
+     * @return True if the element is visible, false otherwise.
+     */
+    public boolean isElementPresent(Locator locator) {
+        try (ActionContext.Scope ignored = action("isElementPresent", locator)) {
+            logger.info("Checking if element is present: {}", locator);  // Log element presence check
+            try {
+                boolean isDisplayed = withElement(locator, this::waitForElementToBeVisible, WebElement::isDisplayed);
+                logger.info("Element {} is displayed: {}", locator, isDisplayed);  // Log the result of the check
+                return isDisplayed;
+            } catch (Exception e) {
+                logger.error("Element {} is not present: {}", locator, e.getMessage());  // Log error if element is not found
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Attribute the WebDriver commands issued until the scope is closed to a method of this page,
+     * for command tracing.
+     *
+     * @param method  Page method name.
+     * @param locator Element the method works on, or null.
+     * @return Scope to close when the method ends.
+     */
+    protected ActionContext.Scope action(String method, Locator locator) {
+        return ActionContext.enter(getClass().getSimpleName(), method, locator != null ? locator.getKey() : null);
+    }
+
+    /**
+     * Run an action on an element, taking it from the element cache when enabled and finding it otherwise.
+     * If the element went stale (or a cached one cannot be interacted with), it is found again and the action
+     * retried once.
+     *
+     * @param locator Locator of the element.
+     * @param finder  Wait used to find the element, e.g. for visibility or clickability.
+     * @param action  Action to run on the element.
+     * @return The result of the action.
+     */
+    private <T> T withElement(Locator locator, Function<Locator, WebElement> finder, Function<WebElement, T> action) {
+        boolean cacheEnabled = isElementCacheEnabled();
+        if (cacheEnabled) {
+            WebElement cached = elementCache.get(locator);
+            if (cached != null) {
+                try {
+                    return action.apply(cached);
+                } catch (StaleElementReferenceException | ElementNotInteractableException e) {
+                    logger.debug("Cached element {} is no longer usable, finding it again", locator);
+                    elementCache.evict(locator);
+                    ElementCache.recordStale();
+                }
+            }
+        }
+
+        WebElement element = finder.apply(locator);
         try {
-            WebElement element = waitForElementToBeVisible(key);
-            boolean isDisplayed = element.isDisplayed();
-            logger.info("Element {} is displayed: {}", key, isDisplayed);  // Log the result of the check
-            return isDisplayed;
-        } catch (Exception e) {
-            logger.error("Element {} is not present: {}", key, e.getMessage());  // Log error if element is not found
-            return false;
+            T result = action.apply(element);
+            if (cacheEnabled) {
+                elementCache.put(locator, element);
+            }
+            return result;
+        } catch (StaleElementReferenceException e) {
+            logger.warn("Element {} went stale, finding it again", locator);  // Retried once, a second failure propagates
+            ElementCache.recordStale();
+            element = finder.apply(locator);
+            T result = action.apply(element);
+            if (cacheEnabled) {
+                elementCache.put(locator, element);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Fill several form fields at once, in the map's iteration order (use a LinkedHashMap to control it).
+     * All fields are waited for together and their values are set in a single script that fires
+     * input and change events, instead of a wait, find and sendKeys per field.
+     *
+     * @param values Keys identifying the fields in JSON, mapped to the text to enter.
+     */
+    public void fillForm(Map<String, String> values) {
+        fillForm(values, Set.of());
+    }
+
+    /**
+     * Fill several form fields at once, typing real keystrokes into the given fields.
+     * Use this for fields whose page logic listens to key events rather than input/change events.
+     *
+     * @param values    Keys identifying the fields in JSON, mapped to the text to enter.
+     * @param typedKeys Keys of the fields that must receive real keystrokes.
+     */
+    public void fillForm(Map<String, String> values, Set<String> typedKeys) {
+        Map<Locator, String> fields = new LinkedHashMap<>();
+        values.forEach((key, text) -> fields.put(locate(key), text));
+        Set<Locator> typedFields = new HashSet<>();
+        typedKeys.forEach(key -> typedFields.add(locate(key)));
+        fillFormFields(fields, typedFields);
+    }
+
+    /**
+     * Fill several form fields at once, identified by generated locator constants.
+     *
+     * @param values      Field locators mapped to the text to enter, filled in iteration order.
+     * @param typedFields Fields that must receive real keystrokes.
+     */
+    public void fillFormFields(Map<Locator, String> values, Set<Locator> typedFields) {
+        try (ActionContext.Scope ignored = action("fillFormFields", null)) {
+            logger.info("Filling form fields: {}", values.keySet());  // Values are not logged, they may hold credentials
+            formFiller.fill(values, typedFields);
+            logger.info("Filled form fields: {}", values.keySet());
+        }
+    }
+
+    /**
+     * Visual checkpoint: compare a screenshot of the page with its stored baseline.
+     * Elements whose entries in the page's JSON file set {@code "visualIgnore": true} (e.g. dynamic content)
+     * are excluded from the comparison.
+     *
+     * @param name Checkpoint name, unique within the page.
+     * @throws AssertionError if the page differs from the baseline.
+     */
+    public void checkVisual(String name) {
+        try (ActionContext.Scope ignored = action("checkVisual", null)) {
+            logger.info("Checking visual checkpoint: {}", name);
+            List<Rectangle> ignore = visualIgnoreRegions();
+            byte[] screenshot = ScreenshotUtil.takeScreenshotAsBytes(driver);
+            new VisualCheckpoint().check(getClass().getSimpleName(), name, screenshot, ignore);
+        }
+    }
+
+    /**
+     * Bounds of the elements flagged with "visualIgnore", converted from CSS to screenshot pixels.
+     */
+    private List<Rectangle> visualIgnoreRegions() {
+        Set<String> keys = LocatorRegistry.getInstance().flaggedKeys(getPageJsonFileName(), "visualIgnore");
+        List<Rectangle> regions = new ArrayList<>();
+        if (keys.isEmpty()) {
+            return regions;
+        }
+        double scale = ((Number) ((JavascriptExecutor) driver).executeScript("return window.devicePixelRatio || 1;")).doubleValue();
+        for (String key : keys) {
+            for (WebElement element : driver.findElements(getLocator(key))) {
+                org.openqa.selenium.Rectangle rect = element.getRect();  // CSS pixels
+                regions.add(new Rectangle((int) Math.floor(rect.getX() * scale), (int) Math.floor(rect.getY() * scale),
+                        (int) Math.ceil(rect.getWidth() * scale), (int) Math.ceil(rect.getHeight() * scale)));
+            }
         }
+        return regions;
     }
 
     /**
@@ -1,9 +1,17 @@
 package pageobjects;
 
 import org.openqa.selenium.WebDriver;
+import pageobjects.locators.CartPageLocators;
 
 public class CartPage extends BasePage {
 
+    /**
+     * Constructor that resolves the WebDriver of the test running on the current thread.
+     */
+    public CartPage() {
+        super();
+    }
+
     /**
      * Constructor to initialize WebDriver and load locators for CartPage.
      *
@@ -27,6 +35,6 @@ public class CartPage extends BasePage {
      * Wait for the checkout button to be visible and then click it.
      */
     public void clickCheckout() {
-        clickElement("checkoutButton");  // Uses the inherited clickElement method from BasePage
+        clickElement(CartPageLocators.CHECKOUT_BUTTON);  // Uses the inherited clickElement method from BasePage
     }
 }
@@ -1,9 +1,23 @@
 package pageobjects;
 
 import org.openqa.selenium.WebDriver;
+import pageobjects.locators.CheckoutPageLocators;
+import utils.DataGenerators;
+import utils.Locator;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
 public class CheckoutPage extends BasePage {
 
+    /**
+     * Constructor that resolves the WebDriver of the test running on the current thread.
+     */
+    public CheckoutPage() {
+        super();
+    }
+
     /**
      * Constructor to initialize WebDriver and load locators for CheckoutPage.
      *
@@ -29,7 +43,7 @@ public class CheckoutPage extends BasePage {
      * @param firstName The first name to enter
      */
     public void enterFirstName(String firstName) {
-        waitForElementToBeVisible("firstNameField").sendKeys(firstName);  // Uses inherited method from BasePage
+        waitForElementToBeVisible(CheckoutPageLocators.FIRST_NAME_FIELD).sendKeys(firstName);  // Uses inherited method from BasePage
     }
 
     /**
@@ -38,7 +52,7 @@ public class CheckoutPage extends BasePage {
      * @param lastName The last name to enter
      */
     public void enterLastName(String lastName) {
-        waitForElementToBeVisible("lastNameField").sendKeys(lastName);  // Uses inherited method from BasePage
+        waitForElementToBeVisible(CheckoutPageLocators.LAST_NAME_FIELD).sendKeys(lastName);  // Uses inherited method from BasePage
     }
 
     /**
@@ -47,13 +61,37 @@ public class CheckoutPage extends BasePage {
      * @param postalCode The postal code to enter
      */
     public void enterPostalCode(String postalCode) {
-        waitForElementToBeVisible("postalCodeField").sendKeys(postalCode);  // Uses inherited method from BasePage
+        waitForElementToBeVisible(CheckoutPageLocators.POSTAL_CODE_FIELD).sendKeys(postalCode);  // Uses inherited method from BasePage
+    }
+
+    /**
+     * Fill the whole checkout information form at once: one wait for all three fields and one script setting them.
+     *
+     * @param firstName  The first name to enter
+     * @param lastName   The last name to enter
+     * @param postalCode The postal code to enter
+     */
+    public void fillCheckoutInformation(String firstName, String lastName, String postalCode) {
+        Map<Locator, String> values = new LinkedHashMap<>();
+        values.put(CheckoutPageLocators.FIRST_NAME_FIELD, firstName);
+        values.put(CheckoutPageLocators.LAST_NAME_FIELD, lastName);
+        values.put(CheckoutPageLocators.POSTAL_CODE_FIELD, postalCode);
+        fillFormFields(values, Set.of());  // Uses inherited method from BasePage
+    }
+
+    /**
+     * Fill the checkout information form with a customer's details.
+     *
+     * @param customer The customer whose details to enter
+     */
+    public void fillCheckoutInformation(DataGenerators.Customer customer) {
+        fillCheckoutInformation(customer.getFirstName(), customer.getLastName(), customer.getPostalCode());
     }
 
     /**
      * Wait for the continue button to be clickable and click it.
      */
     public void clickContinue() {
-        clickElement("continueButton");  // Uses inherited method from BasePage
+        clickElement(CheckoutPageLocators.CONTINUE_BUTTON);  // Uses inherited method from BasePage
     }
 }
@@ -1,9 +1,17 @@
 package pageobjects;
 
 import org.openqa.selenium.WebDriver;
+import pageobjects.locators.InventoryPageLocators;
 
 public class InventoryPage extends BasePage {
 
+    /**
+     * Constructor that resolves the WebDriver of the test running on the current thread.
+     */
+    public InventoryPage() {
+        super();
+    }
+
     /**
      * Constructor to initialize WebDriver and load locators for InventoryPage.
      *
@@ -22,13 +30,13 @@ public class InventoryPage extends BasePage {
      * Wait for the add-to-cart button to be clickable and click it.
      */
     public void addAnItemToCart() {
-        clickElement("addToCartButton");
+        clickElement(InventoryPageLocators.ADD_TO_CART_BUTTON);
     }
 
     /**
      * Wait for the cart link to be clickable and navigate to the cart.
      */
     public void goToCart() {
-        clickElement("cartLink");
+        clickElement(InventoryPageLocators.CART_LINK);
     }
 }
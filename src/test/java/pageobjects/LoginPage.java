@@ -1,12 +1,27 @@
 package pageobjects;
 
 import org.openqa.selenium.WebDriver;
-import utils.ConfigReader;
+import pageobjects.locators.InventoryPageLocators;
+import pageobjects.locators.LoginPageLocators;
+import utils.Locator;
+import utils.PageReadiness;
+import utils.SessionCache;
+import utils.TestConfig;
+import utils.TestContext;
 
-public class LoginPage extends BasePage {
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
+public class LoginPage extends BasePage {
 
-    protected ConfigReader config;
+    /**
+     * Constructor that resolves the WebDriver of the test running on the current thread.
+     */
+    public LoginPage() {
+        super();
+    }
 
     /**
      * Constructor to initialize WebDriver and load locators for LoginPage.
@@ -28,7 +43,7 @@ public class LoginPage extends BasePage {
      * @param username The username to enter
      */
     public void enterUsername(String username) {
-        sendKeysToElement("usernameField", username);
+        sendKeysToElement(LoginPageLocators.USERNAME_FIELD, username);
     }
 
     /**
@@ -37,26 +52,48 @@ public class LoginPage extends BasePage {
      * @param password The password to enter
      */
     public void enterPassword(String password) {
-        sendKeysToElement("passwordField", password);
+        sendKeysToElement(LoginPageLocators.PASSWORD_FIELD, password);
     }
 
     /**
      * Click the login button.
      */
     public void clickLogin() {
-        clickElement("loginButton");
+        clickElement(LoginPageLocators.LOGIN_BUTTON);
     }
 
 
     /**
-     * Method to login. Reads username and password from the config file
+     * Method to login. Reads username and password from the config file and fills both fields in one batch
      */
     public void login() {
-        config = new ConfigReader();
-        String username = config.getProperty("username");
-        String password = config.getProperty("password");
-        enterUsername(username);
-        enterPassword(password);
+        TestConfig config = TestConfig.get();
+        Map<Locator, String> credentials = new LinkedHashMap<>();
+        credentials.put(LoginPageLocators.USERNAME_FIELD, config.getRequiredString("username"));
+        credentials.put(LoginPageLocators.PASSWORD_FIELD, config.getRequiredString("password"));
+        fillFormFields(credentials, Set.of());
         clickLogin();
     }
+
+    /**
+     * Open the storefront and log in as the configured user, ending on the inventory page. Tests that opted in
+     * to session reuse get the session of an earlier UI login injected instead of filling the form.
+     * Requires a test context, i.e. a test extending InitialiseTest.
+     */
+    public void openLoggedIn() {
+        TestConfig config = TestConfig.get();
+        TestContext context = TestContext.current();
+        String url = config.getRequiredString("test_url");
+        Runnable uiLogin = () -> {
+            context.getBrowserUtil().navigateTo(url, PageReadiness.forPage(getPageJsonFileName()));
+            login();
+        };
+        if (!context.isSessionReuse()) {
+            uiLogin.run();
+            return;
+        }
+        SessionCache.getInstance().logIn(context, config.getRequiredString("username"), config.getBrowser(),
+                new SessionCache.LoginFlow(url, URI.create(url).resolve("inventory.html").toString(),
+                        InventoryPageLocators.CART_LINK.getBy(), LoginPageLocators.LOGIN_BUTTON.getBy(), uiLogin));
+    }
 }
@@ -1,9 +1,17 @@
 package pageobjects;
 
 import org.openqa.selenium.WebDriver;
+import pageobjects.locators.SummaryPageLocators;
 
 public class SummaryPage extends BasePage {
 
+    /**
+     * Constructor that resolves the WebDriver of the test running on the current thread.
+     */
+    public SummaryPage() {
+        super();
+    }
+
     /**
      * Constructor to initialize WebDriver and load locators for SummaryPage.
      *
@@ -29,8 +37,7 @@ public class SummaryPage extends BasePage {
      * @return The total value as a string, without the "Total: $" part
      */
     public String getTotalValue() {
-        waitForElementToBeVisible("totalLabel");  // Wait for the total label element
-        String totalText = driver.findElement(getLocator("totalLabel")).getText();
+        String totalText = getElementText(SummaryPageLocators.TOTAL_LABEL);  // One wait, no second findElement
         return totalText.replace("Total: $", "").trim();
     }
 }
@@ -1,8 +1,11 @@
 package tests.reports;
 
+import utils.DataGenerators;
 import utils.InitialiseTest;
+import utils.PageReadiness;
+import utils.StepRecorder;
+import utils.TestData;
 import io.qameta.allure.Description;
-import io.qameta.allure.Step;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import pageobjects.LoginPage;
@@ -18,27 +21,27 @@ public class TestCheckoutProcessWithAllureReports extends InitialiseTest {
     public void testCheckoutProcessWithAllureReports() {
         try {
             logStep("Navigating to URL: " + config.getProperty("test_url"));
-            browserUtil.navigateTo(config.getProperty("test_url"));
+            getBrowserUtil().navigateTo(config.getProperty("test_url"), PageReadiness.forPage("LoginPage.json"));
 
-            LoginPage loginPage = new LoginPage(driver);
+            LoginPage loginPage = new LoginPage();
             logStep("Login Page object created.");
 
-            InventoryPage inventoryPage = new InventoryPage(driver);
+            InventoryPage inventoryPage = new InventoryPage();
             logStep("Inventory Page object created.");
 
-            CartPage cartPage = new CartPage(driver);
+            CartPage cartPage = new CartPage();
             logStep("Cart Page object created.");
 
-            CheckoutPage checkoutPage = new CheckoutPage(driver);
+            CheckoutPage checkoutPage = new CheckoutPage();
             logStep("Checkout Page object created.");
 
-            SummaryPage summaryPage = new SummaryPage(driver);
+            SummaryPage summaryPage = new SummaryPage();
             logStep("Summary Page object created.");
 
-            performLogin(loginPage);
-            addItemToCart(inventoryPage);
-            performCheckout(cartPage, checkoutPage);
-            verifySummaryPage(summaryPage);
+            StepRecorder.step("Login with username and password", () -> performLogin(loginPage));
+            StepRecorder.step("Add item to cart and navigate to cart", () -> addItemToCart(inventoryPage));
+            StepRecorder.step("Proceed with checkout and fill in details", () -> performCheckout(cartPage, checkoutPage));
+            StepRecorder.step("Verify summary page total value", () -> verifySummaryPage(summaryPage));
 
         } catch (Exception e) {
             logger.error("Error during checkout process: ", e);
@@ -47,7 +50,6 @@ public class TestCheckoutProcessWithAllureReports extends InitialiseTest {
         }
     }
 
-    @Step("Login with username and password")
     private void performLogin(LoginPage loginPage) {
         logStep("Entering username and password.");
         loginPage.enterUsername(config.getProperty("username"));
@@ -56,7 +58,6 @@ public class TestCheckoutProcessWithAllureReports extends InitialiseTest {
         logStep("Login button clicked.");
     }
 
-    @Step("Add item to cart and navigate to cart")
     private void addItemToCart(InventoryPage inventoryPage) {
         logStep("Adding item to cart.");
         inventoryPage.addAnItemToCart();
@@ -64,20 +65,18 @@ public class TestCheckoutProcessWithAllureReports extends InitialiseTest {
         logStep("Navigated to cart.");
     }
 
-    @Step("Proceed with checkout and fill in details")
     private void performCheckout(CartPage cartPage, CheckoutPage checkoutPage) {
         logStep("Proceeding to checkout.");
         cartPage.clickCheckout();
         logStep("Checkout button clicked.");
 
-        checkoutPage.enterFirstName("John");
-        checkoutPage.enterLastName("Doe");
-        checkoutPage.enterPostalCode("12345");
+        DataGenerators.Customer customer = TestData.generate("TestCheckoutProcessWithAllureReports.customer", DataGenerators.customers());
+        logStep("Entering checkout details for: " + customer);
+        checkoutPage.fillCheckoutInformation(customer);
         checkoutPage.clickContinue();
         logStep("Checkout details entered.");
     }
 
-    @Step("Verify summary page total value")
     private void verifySummaryPage(SummaryPage summaryPage) {
         String totalValue = summaryPage.getTotalValue();
         logStep("Summary total value retrieved: " + totalValue);
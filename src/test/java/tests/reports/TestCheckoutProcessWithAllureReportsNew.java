@@ -1,6 +1,10 @@
 package tests.reports;
 
+import utils.DataGenerators;
 import utils.InitialiseTest;
+import utils.PageReadiness;
+import utils.StepRecorder;
+import utils.TestData;
 import io.qameta.allure.*;
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -25,20 +29,20 @@ public class TestCheckoutProcessWithAllureReportsNew extends InitialiseTest {
     public void testCheckoutProcessWithAllureReportsNew() {
         try {
             logStep("Navigating to URL: " + config.getProperty("test_url"));
-            browserUtil.navigateTo(config.getProperty("test_url"));
+            getBrowserUtil().navigateTo(config.getProperty("test_url"), PageReadiness.forPage("LoginPage.json"));
 
             // Create page objects
-            LoginPage loginPage = new LoginPage(driver);
-            InventoryPage inventoryPage = new InventoryPage(driver);
-            CartPage cartPage = new CartPage(driver);
-            CheckoutPage checkoutPage = new CheckoutPage(driver);
-            SummaryPage summaryPage = new SummaryPage(driver);
+            LoginPage loginPage = new LoginPage();
+            InventoryPage inventoryPage = new InventoryPage();
+            CartPage cartPage = new CartPage();
+            CheckoutPage checkoutPage = new CheckoutPage();
+            SummaryPage summaryPage = new SummaryPage();
 
-            // Perform the end-to-end flow
-            performLogin(loginPage);
-            addItemToCart(inventoryPage);
-            performCheckout(cartPage, checkoutPage);
-            verifySummaryPage(summaryPage);
+            // Perform the end-to-end flow; each helper is reported as a step with its log messages nested
+            StepRecorder.step("Login with username and password", () -> performLogin(loginPage));
+            StepRecorder.step("Add item to cart and navigate to cart", () -> addItemToCart(inventoryPage));
+            StepRecorder.step("Proceed with checkout and fill in details", () -> performCheckout(cartPage, checkoutPage));
+            StepRecorder.step("Verify summary page total value", () -> verifySummaryPage(summaryPage));
 
         } catch (Exception e) {
             // Handle and log exceptions, then rethrow to fail the test
@@ -52,7 +56,6 @@ public class TestCheckoutProcessWithAllureReportsNew extends InitialiseTest {
      *
      * @param loginPage The login page object.
      */
-    @Step("Login with username and password")
     private void performLogin(LoginPage loginPage) {
         logStep("Entering username and password.");
         loginPage.enterUsername(config.getProperty("username"));
@@ -66,7 +69,6 @@ public class TestCheckoutProcessWithAllureReportsNew extends InitialiseTest {
      *
      * @param inventoryPage The inventory page object.
      */
-    @Step("Add item to cart and navigate to cart")
     private void addItemToCart(InventoryPage inventoryPage) {
         logStep("Adding item to cart.");
         inventoryPage.addAnItemToCart();
@@ -80,15 +82,13 @@ public class TestCheckoutProcessWithAllureReportsNew extends InitialiseTest {
      * @param cartPage      The cart page object.
      * @param checkoutPage  The checkout page object.
      */
-    @Step("Proceed with checkout and fill in details")
     private void performCheckout(CartPage cartPage, CheckoutPage checkoutPage) {
         logStep("Proceeding to checkout.");
         cartPage.clickCheckout();
 
-        logStep("Entering checkout details.");
-        checkoutPage.enterFirstName("John");
-        checkoutPage.enterLastName("Doe");
-        checkoutPage.enterPostalCode("12345");
+        DataGenerators.Customer customer = TestData.generate("TestCheckoutProcessWithAllureReportsNew.customer", DataGenerators.customers());
+        logStep("Entering checkout details for: " + customer);
+        checkoutPage.fillCheckoutInformation(customer);
         checkoutPage.clickContinue();
         logStep("Checkout details entered successfully.");
     }
@@ -98,7 +98,6 @@ public class TestCheckoutProcessWithAllureReportsNew extends InitialiseTest {
      *
      * @param summaryPage The summary page object.
      */
-    @Step("Verify summary page total value")
     private void verifySummaryPage(SummaryPage summaryPage) {
         String totalValue = summaryPage.getTotalValue();
         logStep("Summary total value retrieved: " + totalValue);
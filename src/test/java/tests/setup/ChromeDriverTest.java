@@ -11,10 +11,10 @@ public class ChromeDriverTest extends InitialiseTest {
     @Test
     public void testGoogleHomePage() {
         logStep("Navigating to Google.com");
-        driver.get("https://www.google.com");
+        getDriver().get("https://www.google.com");
 
         logStep("Verifying if Google search bar is present");
-        WebElement searchBox = driver.findElement(By.name("q"));
+        WebElement searchBox = getDriver().findElement(By.name("q"));
         Assert.assertTrue(searchBox.isDisplayed(), "Google search box is not displayed");
     }
 }
@@ -1,6 +1,7 @@
 package tests.smoke;
 
 import utils.InitialiseTest;
+import utils.PageReadiness;
 import pageobjects.LoginPage;
 
 import org.testng.Assert;
@@ -12,9 +13,9 @@ public class LoginTest extends InitialiseTest {
     public void loginTest() {
         try {
             logger.info("Navigating to URL: " + config.getProperty("test_url"));
-            browserUtil.navigateTo(config.getProperty("test_url"));
+            getBrowserUtil().navigateTo(config.getProperty("test_url"), PageReadiness.forPage("LoginPage.json"));
 
-            LoginPage loginPage = new LoginPage(driver);
+            LoginPage loginPage = new LoginPage();
             logger.info("Login Page object created.");
 
             // Login
@@ -23,7 +24,7 @@ public class LoginTest extends InitialiseTest {
             logger.info("Login button clicked.");
 
             // Get the current URL
-            String currentUrl = driver.getCurrentUrl();
+            String currentUrl = getDriver().getCurrentUrl();
 
             // The variable part of the URL
             String expectedPage = "inventory.html";
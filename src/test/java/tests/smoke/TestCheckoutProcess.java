@@ -1,31 +1,44 @@
 package tests.smoke;
 
+import utils.DataGenerators;
 import utils.InitialiseTest;
+import utils.ReuseSession;
+import utils.TestData;
 import pageobjects.LoginPage;
 import pageobjects.InventoryPage;
 import pageobjects.CartPage;
 import pageobjects.CheckoutPage;
 import pageobjects.SummaryPage;
 import org.testng.Assert;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.util.Iterator;
+
 public class TestCheckoutProcess extends InitialiseTest {
 
-    @Test
-    public void testCheckoutProcess() {
-        try {
-            browserUtil.navigateTo(config.getProperty("test_url"));
+    private static final int CUSTOMERS = 3;
 
-            LoginPage loginPage = new LoginPage(driver);
-            InventoryPage inventoryPage = new InventoryPage(driver);
-            CartPage cartPage = new CartPage(driver);
-            CheckoutPage checkoutPage = new CheckoutPage(driver);
-            SummaryPage summaryPage = new SummaryPage(driver);
+    /**
+     * Customers generated from the run's test data seed, one row at a time, each checking out in parallel.
+     */
+    @DataProvider(parallel = true)
+    public Iterator<Object[]> customers() {
+        return TestData.rows("TestCheckoutProcess.customers", CUSTOMERS, DataGenerators.customers());
+    }
+
+    @Test(dataProvider = "customers")
+    @ReuseSession
+    public void testCheckoutProcess(DataGenerators.Customer customer) {
+        try {
+            LoginPage loginPage = new LoginPage();
+            InventoryPage inventoryPage = new InventoryPage();
+            CartPage cartPage = new CartPage();
+            CheckoutPage checkoutPage = new CheckoutPage();
+            SummaryPage summaryPage = new SummaryPage();
 
-            // Login
-            loginPage.enterUsername(config.getProperty("username"));
-            loginPage.enterPassword(config.getProperty("password"));
-            loginPage.clickLogin();
+            // Login, with the session of an earlier UI login when there is one
+            loginPage.openLoggedIn();
 
             // Add item to cart
             inventoryPage.addAnItemToCart();
@@ -34,9 +47,7 @@ public class TestCheckoutProcess extends InitialiseTest {
             // Checkout
             cartPage.clickCheckout();
 
-            checkoutPage.enterFirstName("John");
-            checkoutPage.enterLastName("Doe");
-            checkoutPage.enterPostalCode("12345");
+            checkoutPage.fillCheckoutInformation(customer);
             checkoutPage.clickContinue();
 
             // Verify summary page; it should be 10.79
@@ -1,6 +1,9 @@
 package tests.smoke;
 
+import utils.DataGenerators;
 import utils.InitialiseTest;
+import utils.ReuseSession;
+import utils.TestData;
 import pageobjects.LoginPage;
 import pageobjects.InventoryPage;
 import pageobjects.CartPage;
@@ -13,30 +16,28 @@ import org.testng.annotations.Test;
 public class TestCheckoutProcessWithLogs extends InitialiseTest {
 
     @Test
+    @ReuseSession
     public void testCheckoutProcessWithLogs() {
         try {
-            logger.info("Navigating to URL: " + config.getProperty("test_url"));
-            browserUtil.navigateTo(config.getProperty("test_url"));
-
-            LoginPage loginPage = new LoginPage(driver);
+            LoginPage loginPage = new LoginPage();
             logger.info("Login Page object created.");
 
-            InventoryPage inventoryPage = new InventoryPage(driver);
+            InventoryPage inventoryPage = new InventoryPage();
             logger.info("Inventory Page object created.");
 
-            CartPage cartPage = new CartPage(driver);
+            CartPage cartPage = new CartPage();
             logger.info("Cart Page object created.");
 
-            CheckoutPage checkoutPage = new CheckoutPage(driver);
+            CheckoutPage checkoutPage = new CheckoutPage();
             logger.info("Checkout Page object created.");
 
-            SummaryPage summaryPage = new SummaryPage(driver);
+            SummaryPage summaryPage = new SummaryPage();
             logger.info("Summary Page object created.");
 
             // Login
-            logger.info("Entering username and password.");
-            loginPage.login();
-            logger.info("Login button clicked.");
+            logger.info("Logging in at URL: " + config.getProperty("test_url"));
+            loginPage.openLoggedIn();
+            logger.info("Logged in.");
 
             // Add item to cart
             logger.info("Adding item to cart.");
@@ -49,9 +50,9 @@ public class TestCheckoutProcessWithLogs extends InitialiseTest {
             cartPage.clickCheckout();
             logger.info("Checkout button clicked.");
 
-            checkoutPage.enterFirstName("John");
-            checkoutPage.enterLastName("Doe");
-            checkoutPage.enterPostalCode("12345");
+            DataGenerators.Customer customer = TestData.generate("TestCheckoutProcessWithLogs.customer", DataGenerators.customers());
+            logger.info("Entering checkout details for: " + customer);
+            checkoutPage.fillCheckoutInformation(customer);
             checkoutPage.clickContinue();
             logger.info("Checkout details entered.");
 
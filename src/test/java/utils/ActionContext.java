@@ -0,0 +1,82 @@
+package utils;
+
+/**
+ * The page action running on the current thread, e.g. {@code LoginPage.clickElement} on {@code loginButton}.
+ * Set by {@code BasePage} around each element action so that the {@link CommandTracer} can attribute
+ * the WebDriver commands it issues.
+ * <pre>
+ * try (ActionContext.Scope ignored = ActionContext.enter("LoginPage", "clickElement", "loginButton")) {
+ *     ...
+ * }
+ * </pre>
+ * Scopes nest: the outermost page action keeps the attribution for the helpers it calls.
+ */
+public final class ActionContext {
+
+    private static final ThreadLocal<ActionContext> CURRENT = new ThreadLocal<>();
+
+    private final String page;
+    private final String action;
+    private final String locatorKey;
+
+    private ActionContext(String page, String action, String locatorKey) {
+        this.page = page;
+        this.action = action;
+        this.locatorKey = locatorKey;
+    }
+
+    /**
+     * Restores the enclosing action when closed.
+     */
+    public static final class Scope implements AutoCloseable {
+        private final ActionContext previous;
+
+        private Scope(ActionContext previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Mark the start of a page action on the current thread. An action already running keeps its attribution.
+     *
+     * @param page       Page object name
+     * @param action     Page method name
+     * @param locatorKey Key of the element in the page's JSON file, or null
+     * @return Scope to close when the action ends
+     */
+    public static Scope enter(String page, String action, String locatorKey) {
+        ActionContext previous = CURRENT.get();
+        if (previous == null) {
+            CURRENT.set(new ActionContext(page, action, locatorKey));
+        }
+        return new Scope(previous);
+    }
+
+    /**
+     * @return The action running on the current thread, or null outside of page actions
+     */
+    public static ActionContext current() {
+        return CURRENT.get();
+    }
+
+    public String getPage() {
+        return page;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public String getLocatorKey() {
+        return locatorKey;
+    }
+}
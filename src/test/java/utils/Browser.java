@@ -0,0 +1,27 @@
+package utils;
+
+import java.util.Locale;
+
+/**
+ * Browsers supported by the framework, as configured with the {@code browser} key.
+ */
+public enum Browser {
+    CHROME,
+    EDGE,
+    SAFARI;
+
+    /**
+     * Parse a configured browser name, ignoring case.
+     *
+     * @param value Browser name, e.g. "chrome"
+     * @return The matching browser
+     * @throws IllegalArgumentException if the browser is not supported
+     */
+    public static Browser fromString(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported browser set in config.properties file: " + value);
+        }
+    }
+}
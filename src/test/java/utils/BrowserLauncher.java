@@ -0,0 +1,120 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Launches browser sessions in the background ahead of demand.
+ * <p>
+ * Keeps {@code sessions} launches in flight or ready at all times: {@link #take()} hands out the oldest one and
+ * immediately starts a replacement, so a test only waits for a cold browser start when tests consume sessions
+ * faster than they can be launched. Sessions still waiting when the launcher shuts down are quit.
+ */
+public class BrowserLauncher {
+
+    private static final Logger logger = LogManager.getLogger(BrowserLauncher.class);
+
+    private final Supplier<WebDriver> driverSupplier;
+    private final ExecutorService executor;
+    private final LinkedBlockingQueue<Future<WebDriver>> launches = new LinkedBlockingQueue<>();
+    private boolean closed;
+
+    /**
+     * @param driverSupplier Launches one browser session
+     * @param sessions       Number of sessions to keep launched ahead of demand
+     */
+    public BrowserLauncher(Supplier<WebDriver> driverSupplier, int sessions) {
+        if (sessions < 1) {
+            throw new IllegalArgumentException("Pre-warmed session count must be at least 1: " + sessions);
+        }
+        this.driverSupplier = driverSupplier;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(sessions, runnable -> {
+            Thread thread = new Thread(runnable, "browser-launcher-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < sessions; i++) {
+            launchAhead();
+        }
+        logger.info("Launching {} browser sessions ahead of demand.", sessions);
+    }
+
+    /**
+     * Take the next pre-launched session, waiting for its launch to finish if needed, and start a replacement.
+     *
+     * @return A new browser session owned by the caller
+     */
+    public WebDriver take() {
+        Future<WebDriver> launch;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Browser launcher has been shut down");
+            }
+            launch = launches.poll();  // Never empty while open: every take queues a replacement
+            launchAhead();
+        }
+        long start = System.nanoTime();
+        WebDriver driver = await(launch);
+        logger.debug("Took pre-launched browser session after {} ms.", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return driver;
+    }
+
+    /**
+     * Stop launching and quit all sessions that were never taken, including launches still in progress.
+     */
+    public void shutdown() {
+        List<Future<WebDriver>> pending = new ArrayList<>();
+        synchronized (this) {
+            closed = true;
+            launches.drainTo(pending);
+        }
+        executor.shutdown();
+        int quit = 0;
+        for (Future<WebDriver> launch : pending) {
+            try {
+                launch.get(2, TimeUnit.MINUTES).quit();
+                quit++;
+            } catch (ExecutionException | TimeoutException | WebDriverException e) {
+                logger.warn("Failed to close pre-launched browser session: {}", e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        executor.shutdownNow();
+        logger.info("Browser launcher shut down, {} unused sessions closed.", quit);
+    }
+
+    private void launchAhead() {
+        launches.add(executor.submit(driverSupplier::get));
+    }
+
+    private static WebDriver await(Future<WebDriver> launch) {
+        try {
+            return launch.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();  // e.g. SessionNotCreatedException, as DriverFactory would throw it
+            }
+            throw new IllegalStateException("Failed to launch browser session", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser session", e);
+        }
+    }
+}
@@ -1,11 +1,17 @@
 package utils;
 
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 
 public class BrowserUtil {
 
+    /** Set on the current document before navigating, so a wait cannot mistake it for the new one. */
+    private static final String STALE_DOCUMENT_MARKER = "__uiAutomationStaleDocument";
+
     private WebDriver driver;
+    private WaitUtil waitUtil;
 
     public BrowserUtil(WebDriver driver) {
         this.driver = driver;
@@ -16,15 +22,48 @@ public class BrowserUtil {
         driver.manage().window().maximize();
     }
 
-    // Navigate to a specific URL
+    /**
+     * Navigate to a URL. Under the EAGER and NONE page load strategies this returns once the DOM is interactive.
+     *
+     * @param url URL to open
+     */
     public void navigateTo(String url) {
+        if (DriverFactory.getPageLoadStrategy() == PageLoadStrategy.NORMAL) {
+            ElementCache.invalidate(driver);  // Elements of the current document go stale
+            driver.get(url);  // Already waits for the load event
+        } else {
+            navigateTo(url, PageReadiness.DOM_INTERACTIVE);
+        }
+    }
+
+    /**
+     * Navigate to a URL and return as soon as the page is usable. Only shortens navigation under the
+     * EAGER or NONE page load strategy ({@code page_load_strategy}); under NORMAL the page has fully
+     * loaded before the condition is checked.
+     *
+     * @param url       URL to open
+     * @param readiness Condition the new page must meet, e.g. {@link PageReadiness#forPage(String)}
+     */
+    public void navigateTo(String url, PageReadiness readiness) {
+        ElementCache.invalidate(driver);  // Elements of the current document go stale
+        boolean returnsEarly = DriverFactory.getPageLoadStrategy() == PageLoadStrategy.NONE;
+        if (returnsEarly) {
+            // driver.get may return before the new document replaced the current one
+            ((JavascriptExecutor) driver).executeScript("window." + STALE_DOCUMENT_MARKER + " = true;");
+        }
         driver.get(url);
+        if (returnsEarly) {
+            getWaitUtil().waitUntil("newDocument", webDriver -> !Boolean.TRUE.equals(
+                    ((JavascriptExecutor) webDriver).executeScript("return window." + STALE_DOCUMENT_MARKER + " === true;")));
+        }
+        readiness.await(getWaitUtil());
     }
 
     /**
      * Navigate back in the browser history.
      */
     public void navigateBack() {
+        ElementCache.invalidate(driver);  // Elements of the current document go stale
         driver.navigate().back();
     }
 
@@ -32,6 +71,7 @@ public class BrowserUtil {
      * Navigate forward in the browser history.
      */
     public void navigateForward() {
+        ElementCache.invalidate(driver);  // Elements of the current document go stale
         driver.navigate().forward();
     }
 
@@ -39,6 +79,14 @@ public class BrowserUtil {
      * Refresh the current page.
      */
     public void refreshPage() {
+        ElementCache.invalidate(driver);  // Elements of the current document go stale
         driver.navigate().refresh();
     }
+
+    private WaitUtil getWaitUtil() {
+        if (waitUtil == null) {
+            waitUtil = new WaitUtil(driver);
+        }
+        return waitUtil;
+    }
 }
@@ -0,0 +1,158 @@
+package utils;
+
+import org.json.JSONObject;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every WebDriver command of one test and attributes it to the page action that issued it.
+ * <p>
+ * Installed with {@link #decorate(WebDriver)}, which wraps the driver in Selenium's EventFiringDecorator.
+ * Each command (e.g. {@code element.click}, {@code driver.findElement}) is recorded into
+ * {@link LatencyHistogram}s grouped by command, by page, by page method and by page locator key, using the
+ * {@link ActionContext} set by {@code BasePage}. Every test has its own tracer; all tracers also record into
+ * JVM-wide suite statistics.
+ */
+public class CommandTracer implements WebDriverListener {
+
+    private static final Stats SUITE = new Stats();
+
+    private static final String NO_PAGE = "(no page)";
+
+    private final Stats testStats = new Stats();
+
+    /** Start times of the commands in progress per thread, without boxing. */
+    private final ThreadLocal<CallStack> calls = ThreadLocal.withInitial(CallStack::new);
+
+    private static final class CallStack {
+        private final long[] starts = new long[16];  // Deeper nesting is not timed
+        private int depth;
+    }
+
+    /**
+     * Wrap a driver so that all its commands are traced by this tracer.
+     *
+     * @param driver Driver to wrap
+     * @return The traced driver
+     */
+    public WebDriver decorate(WebDriver driver) {
+        return new EventFiringDecorator<>(this).decorate(driver);
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        CallStack stack = calls.get();
+        if (stack.depth < stack.starts.length) {
+            stack.starts[stack.depth] = System.nanoTime();
+        }
+        stack.depth++;
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(target, method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(target, method);
+    }
+
+    private void finish(Object target, Method method) {
+        CallStack stack = calls.get();
+        if (stack.depth == 0) {
+            return;
+        }
+        stack.depth--;
+        if (stack.depth >= stack.starts.length) {
+            return;
+        }
+        long elapsed = System.nanoTime() - stack.starts[stack.depth];
+
+        String command = category(target, method) + "." + method.getName();
+        ActionContext action = ActionContext.current();
+        String page = action != null ? action.getPage() : NO_PAGE;
+        String pageAction = action != null ? page + "." + action.getAction() : NO_PAGE;
+        String locator = action != null && action.getLocatorKey() != null ? page + "." + action.getLocatorKey() : null;
+        testStats.record(command, page, pageAction, locator, elapsed);
+        SUITE.record(command, page, pageAction, locator, elapsed);
+    }
+
+    private static String category(Object target, Method method) {
+        if (target instanceof WebElement) {
+            return "element";
+        }
+        if (target instanceof WebDriver) {
+            return "driver";
+        }
+        // Navigation, Options, Timeouts, Window, TargetLocator, Alert
+        return method.getDeclaringClass().getSimpleName().toLowerCase();
+    }
+
+    /**
+     * @return This test's statistics as JSON
+     */
+    public JSONObject toJson() {
+        return testStats.toJson();
+    }
+
+    /**
+     * @return The statistics of all traced tests as JSON
+     */
+    public static JSONObject suiteJson() {
+        return SUITE.toJson();
+    }
+
+    /**
+     * Write statistics to a JSON file.
+     *
+     * @param json Statistics from {@link #toJson()} or {@link #suiteJson()}
+     * @param file Target file, parent directories are created if needed
+     */
+    public static void writeTo(JSONObject json, Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, json.toString(2), StandardCharsets.UTF_8);
+    }
+
+    private static final class Stats {
+        private final Map<String, LatencyHistogram> commands = new ConcurrentHashMap<>();
+        private final Map<String, LatencyHistogram> pages = new ConcurrentHashMap<>();
+        private final Map<String, LatencyHistogram> actions = new ConcurrentHashMap<>();
+        private final Map<String, LatencyHistogram> locators = new ConcurrentHashMap<>();
+
+        private void record(String command, String page, String action, String locator, long nanos) {
+            commands.computeIfAbsent(command, key -> new LatencyHistogram()).record(nanos);
+            pages.computeIfAbsent(page, key -> new LatencyHistogram()).record(nanos);
+            actions.computeIfAbsent(action, key -> new LatencyHistogram()).record(nanos);
+            if (locator != null) {
+                locators.computeIfAbsent(locator, key -> new LatencyHistogram()).record(nanos);
+            }
+        }
+
+        private JSONObject toJson() {
+            return new JSONObject()
+                    .put("commands", toJson(commands))
+                    .put("pages", toJson(pages))
+                    .put("actions", toJson(actions))
+                    .put("locators", toJson(locators));
+        }
+
+        private static JSONObject toJson(Map<String, LatencyHistogram> histograms) {
+            JSONObject json = new JSONObject();
+            new TreeMap<>(histograms).forEach((name, histogram) -> json.put(name, histogram.toJson()));
+            return json;
+        }
+    }
+}
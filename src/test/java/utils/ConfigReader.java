@@ -1,25 +1,17 @@
 package utils;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.Properties;
-
+/**
+ * Read access to configuration values by key.
+ * Backed by the JVM-wide {@link TestConfig} snapshot, so creating a ConfigReader no longer re-reads
+ * config.properties, and system properties and {@code UI_} environment variables take precedence over the file.
+ */
 public class ConfigReader {
-    private Properties properties;
 
-    public ConfigReader() {
-        properties = new Properties();
-        try (InputStream input = getClass().getClassLoader().getResourceAsStream("config.properties")) {
-            if (input == null) {
-                throw new IOException("Unable to find config.properties");
-            }
-            properties.load(input);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+    public String getProperty(String key) {
+        return TestConfig.get().getString(key);
     }
 
-    public String getProperty(String key) {
-        return properties.getProperty(key);
+    public String getProperty(String key, String defaultValue) {
+        return TestConfig.get().getString(key, defaultValue);
     }
 }
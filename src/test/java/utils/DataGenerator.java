@@ -0,0 +1,27 @@
+package utils;
+
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * Generates one test data record from a random stream. Draws only from the stream it is given, so the record
+ * depends on nothing but that stream; see {@link TestData}.
+ *
+ * @param <T> Type of the records
+ */
+@FunctionalInterface
+public interface DataGenerator<T> {
+
+    /**
+     * @param random Stream of the record, not shared with other threads
+     * @return The record
+     */
+    T generate(SplittableRandom random);
+
+    /**
+     * @return A generator of records derived from this generator's records
+     */
+    default <R> DataGenerator<R> map(Function<? super T, ? extends R> mapper) {
+        return random -> mapper.apply(generate(random));
+    }
+}
@@ -0,0 +1,231 @@
+package utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Typed generators for the data the storefront tests enter: customers, user accounts and cart contents.
+ * Use them through {@link TestData}, which gives each record its own seeded stream.
+ */
+public final class DataGenerators {
+
+    private static final String[] FIRST_NAMES = {
+            "Ada", "Alan", "Amara", "Bruno", "Chen", "Dmitri", "Elena", "Farah", "Grace", "Hiro",
+            "Ines", "Jonas", "Kofi", "Lena", "Mateo", "Nadia", "Omar", "Priya", "Sven", "Yara"};
+    private static final String[] LAST_NAMES = {
+            "Andersen", "Becker", "Costa", "Dubois", "Eriksen", "Fischer", "Garcia", "Hopper", "Ito", "Jensen",
+            "Kowalski", "Lovelace", "Mensah", "Novak", "Okafor", "Patel", "Rossi", "Silva", "Turing", "Weber"};
+    private static final String ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+
+    /** Products of the storefront, as listed on the inventory page. */
+    private static final List<Product> CATALOG = List.of(
+            new Product("sauce-labs-backpack", "Sauce Labs Backpack", "29.99"),
+            new Product("sauce-labs-bike-light", "Sauce Labs Bike Light", "9.99"),
+            new Product("sauce-labs-bolt-t-shirt", "Sauce Labs Bolt T-Shirt", "15.99"),
+            new Product("sauce-labs-fleece-jacket", "Sauce Labs Fleece Jacket", "49.99"),
+            new Product("sauce-labs-onesie", "Sauce Labs Onesie", "7.99"),
+            new Product("test.allthethings()-t-shirt-(red)", "Test.allTheThings() T-Shirt (Red)", "15.99"));
+    private static final BigDecimal TAX_RATE = new BigDecimal("0.08");
+
+    private DataGenerators() {
+    }
+
+    /**
+     * @return Customers with a first name, last name and five-digit postal code
+     */
+    public static DataGenerator<Customer> customers() {
+        return random -> new Customer(pick(random, FIRST_NAMES), pick(random, LAST_NAMES), postalCode(random));
+    }
+
+    /**
+     * @return Accounts with a unique-looking user name, a 12-character password and the customer they belong to
+     */
+    public static DataGenerator<UserAccount> userAccounts() {
+        DataGenerator<Customer> customers = customers();
+        return random -> {
+            Customer customer = customers.generate(random);
+            String username = (customer.getFirstName() + "_" + customer.getLastName()).toLowerCase() + "_" + alphanumeric(random, 6);
+            return new UserAccount(username, alphanumeric(random, 12), customer);
+        };
+    }
+
+    /**
+     * @param maxItems Most products in a cart, at least 1
+     * @return Carts of 1 to {@code maxItems} different catalog products
+     */
+    public static DataGenerator<Cart> carts(int maxItems) {
+        if (maxItems < 1) {
+            throw new IllegalArgumentException("A cart must allow at least one item: " + maxItems);
+        }
+        int limit = Math.min(maxItems, CATALOG.size());
+        return random -> {
+            List<Product> products = new ArrayList<>(CATALOG);
+            int size = 1 + random.nextInt(limit);
+            for (int i = 0; i < size; i++) {  // Partial Fisher-Yates shuffle: the first size products are the pick
+                Collections.swap(products, i, i + random.nextInt(products.size() - i));
+            }
+            return new Cart(products.subList(0, size));
+        };
+    }
+
+    /**
+     * @return A postal code of five digits, leading zeros included
+     */
+    public static String postalCode(SplittableRandom random) {
+        return String.format("%05d", random.nextInt(100_000));
+    }
+
+    /**
+     * @return A string of letters and digits
+     */
+    public static String alphanumeric(SplittableRandom random, int length) {
+        StringBuilder result = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            result.append(ALPHANUMERIC.charAt(random.nextInt(ALPHANUMERIC.length())));
+        }
+        return result.toString();
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * Customer details entered on the checkout page.
+     */
+    public static final class Customer {
+        private final String firstName;
+        private final String lastName;
+        private final String postalCode;
+
+        private Customer(String firstName, String lastName, String postalCode) {
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.postalCode = postalCode;
+        }
+
+        public String getFirstName() {
+            return firstName;
+        }
+
+        public String getLastName() {
+            return lastName;
+        }
+
+        public String getPostalCode() {
+            return postalCode;
+        }
+
+        @Override
+        public String toString() {
+            return firstName + " " + lastName + ", " + postalCode;  // Shown as the test parameter in the report
+        }
+    }
+
+    /**
+     * Credentials of a user and the customer details that go with them.
+     */
+    public static final class UserAccount {
+        private final String username;
+        private final String password;
+        private final Customer customer;
+
+        private UserAccount(String username, String password, Customer customer) {
+            this.username = username;
+            this.password = password;
+            this.customer = customer;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public Customer getCustomer() {
+            return customer;
+        }
+
+        @Override
+        public String toString() {
+            return username + " (" + customer + ")";  // The password stays out of logs and reports
+        }
+    }
+
+    /**
+     * A storefront product.
+     */
+    public static final class Product {
+        private final String slug;
+        private final String name;
+        private final BigDecimal price;
+
+        private Product(String slug, String name, String price) {
+            this.slug = slug;
+            this.name = name;
+            this.price = new BigDecimal(price);
+        }
+
+        /**
+         * @return Identifier used in the product's {@code add-to-cart-} and {@code remove-} buttons
+         */
+        public String getSlug() {
+            return slug;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public BigDecimal getPrice() {
+            return price;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * Products in a cart, with the totals the summary page shows for them.
+     */
+    public static final class Cart {
+        private final List<Product> products;
+
+        private Cart(List<Product> products) {
+            this.products = List.copyOf(products);
+        }
+
+        public List<Product> getProducts() {
+            return products;
+        }
+
+        /**
+         * @return Sum of the product prices
+         */
+        public BigDecimal getItemTotal() {
+            return products.stream().map(Product::getPrice).reduce(BigDecimal.ZERO, BigDecimal::add);
+        }
+
+        /**
+         * @return Item total plus 8% tax rounded to cents, formatted like the summary page, e.g. "10.79"
+         */
+        public String getTotal() {
+            BigDecimal itemTotal = getItemTotal();
+            BigDecimal tax = itemTotal.multiply(TAX_RATE).setScale(2, RoundingMode.HALF_UP);
+            return itemTotal.add(tax).toPlainString();
+        }
+
+        @Override
+        public String toString() {
+            return products.toString();
+        }
+    }
+}
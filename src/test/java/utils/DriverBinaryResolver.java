@@ -0,0 +1,310 @@
+package utils;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the local driver binary (chromedriver, msedgedriver) once per JVM instead of once per test.
+ * <p>
+ * The installed browser's version is read from its {@code --version} output, or on Windows from the registry and
+ * the version-named directories of its installation. It is looked up in a small properties file under
+ * {@code driver_cache_dir} (by default {@code ~/.cache/ui-automation}), keyed by browser and version. On a miss,
+ * a driver already on the PATH is used if its major version matches the browser; only then is WebDriverManager
+ * asked to download one. The result is written back to the cache, so later
+ * runs against the same browser version start without touching the network. When the browser version cannot
+ * be determined nothing is cached, since the driver found then would be returned again after a browser update.
+ */
+public final class DriverBinaryResolver {
+
+    private static final Logger logger = LogManager.getLogger(DriverBinaryResolver.class);
+
+    private static final String CACHE_FILE = "drivers.properties";
+    private static final Pattern VERSION = Pattern.compile("(\\d+)(\\.\\d+){1,3}");
+
+    private static final Map<Browser, Path> resolved = new EnumMap<>(Browser.class);
+
+    private DriverBinaryResolver() {
+    }
+
+    /**
+     * @param browser Chrome or Edge
+     * @return Path of the driver binary for the installed browser, resolved at most once per JVM
+     */
+    public static synchronized Path resolve(Browser browser) {
+        Path driver = resolved.get(browser);
+        if (driver == null) {
+            long start = System.nanoTime();
+            driver = resolveUncached(browser, cacheFile(TestConfig.get()));
+            resolved.put(browser, driver);
+            logger.info("Resolved {} driver {} in {} ms.", browser, driver,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        return driver;
+    }
+
+    private static Path resolveUncached(Browser browser, Path cacheFile) {
+        String browserVersion = browserVersion(browser);
+        if (browserVersion == null) {
+            // Nothing to key the cache on: a driver cached now would outlive the next browser update
+            Path driver = findOnPath(browser, null);
+            return driver != null ? driver : download(browser, null);
+        }
+        String cacheKey = browser.name().toLowerCase() + "." + browserVersion;
+
+        Properties cache = readCache(cacheFile);
+        String cached = cache.getProperty(cacheKey);
+        if (cached != null && Files.isExecutable(Paths.get(cached))) {
+            return Paths.get(cached);
+        }
+
+        Path driver = findOnPath(browser, browserVersion);
+        if (driver == null) {
+            driver = download(browser, browserVersion);
+        }
+        cache.setProperty(cacheKey, driver.toAbsolutePath().toString());
+        writeCache(cacheFile, cache);
+        return driver;
+    }
+
+    /**
+     * @return The installed browser's full version, e.g. "126.0.6478.126", or null if it cannot be determined
+     */
+    private static String browserVersion(Browser browser) {
+        if (isWindows()) {
+            // chrome.exe and msedge.exe open a browser window instead of printing --version
+            String version = registryVersion(browser);
+            if (version == null) {
+                version = installedVersion(browser);
+            }
+            if (version != null) {
+                return version;
+            }
+        } else {
+            for (String command : browserCommands(browser)) {
+                String version = version(command);
+                if (version != null) {
+                    return version;
+                }
+            }
+        }
+        logger.warn("Could not determine the installed {} version.", browser);
+        return null;
+    }
+
+    private static List<String> browserCommands(Browser browser) {
+        switch (browser) {
+            case CHROME:
+                return List.of("google-chrome", "google-chrome-stable", "chromium", "chromium-browser",
+                        "/Applications/Google Chrome.app/Contents/MacOS/Google Chrome");
+            case EDGE:
+                return List.of("microsoft-edge", "microsoft-edge-stable",
+                        "/Applications/Microsoft Edge.app/Contents/MacOS/Microsoft Edge");
+            default:
+                throw new IllegalArgumentException("No driver binary to resolve for browser: " + browser);
+        }
+    }
+
+    /**
+     * @return The version the browser's updater records in the registry, or null if it is not there
+     */
+    private static String registryVersion(Browser browser) {
+        String key = browser == Browser.EDGE ? "Microsoft\\Edge\\BLBeacon" : "Google\\Chrome\\BLBeacon";
+        for (String hive : List.of("HKCU", "HKLM")) {
+            String version = firstVersion(List.of("reg", "query", hive + "\\Software\\" + key, "/v", "version"));
+            if (version != null) {
+                return version;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Each installation keeps its binaries in a directory named after its version, e.g.
+     * {@code C:\Program Files\Google\Chrome\Application\126.0.6478.127}.
+     *
+     * @return The highest version installed in the usual Windows locations, or null if none is found
+     */
+    private static String installedVersion(Browser browser) {
+        String application = browser == Browser.EDGE ? "Microsoft\\Edge\\Application" : "Google\\Chrome\\Application";
+        String highest = null;
+        for (String variable : List.of("ProgramFiles", "ProgramFiles(x86)", "LOCALAPPDATA")) {
+            String base = System.getenv(variable);
+            if (base == null) {
+                continue;
+            }
+            File[] entries = Paths.get(base, application).toFile().listFiles(File::isDirectory);
+            for (File entry : entries != null ? entries : new File[0]) {
+                String name = entry.getName();
+                if (VERSION.matcher(name).matches() && (highest == null || compareVersions(name, highest) > 0)) {
+                    highest = name;
+                }
+            }
+        }
+        return highest;
+    }
+
+    private static int compareVersions(String left, String right) {
+        String[] leftParts = left.split("\\.");
+        String[] rightParts = right.split("\\.");
+        for (int i = 0; i < Math.max(leftParts.length, rightParts.length); i++) {
+            int difference = Integer.compare(i < leftParts.length ? Integer.parseInt(leftParts[i]) : 0,
+                    i < rightParts.length ? Integer.parseInt(rightParts[i]) : 0);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return 0;
+    }
+
+    private static boolean isWindows() {
+        return System.getProperty("os.name", "").toLowerCase().startsWith("windows");
+    }
+
+    private static String driverCommand(Browser browser) {
+        return browser == Browser.EDGE ? "msedgedriver" : "chromedriver";
+    }
+
+    /**
+     * A driver on the PATH is only used when it matches the browser's major version, or when the browser
+     * version is unknown and nothing else can be checked.
+     */
+    private static Path findOnPath(Browser browser, String browserVersion) {
+        String name = driverCommand(browser);
+        String pathVariable = System.getenv("PATH");
+        if (pathVariable == null) {
+            return null;
+        }
+        for (String directory : pathVariable.split(File.pathSeparator)) {
+            for (String candidate : List.of(name, name + ".exe")) {
+                Path driver = Paths.get(directory, candidate);
+                if (!Files.isExecutable(driver)) {
+                    continue;
+                }
+                String driverVersion = version(driver.toString());
+                if (browserVersion == null || (driverVersion != null && major(driverVersion).equals(major(browserVersion)))) {
+                    logger.info("Using installed {} {} for {} {}.", driver, driverVersion, browser, browserVersion);
+                    return driver;
+                }
+                logger.info("Ignoring installed {} {}, browser is {} {}.", driver, driverVersion, browser, browserVersion);
+            }
+        }
+        return null;
+    }
+
+    private static Path download(Browser browser, String browserVersion) {
+        WebDriverManager manager = browser == Browser.EDGE ? WebDriverManager.edgedriver() : WebDriverManager.chromedriver();
+        if (browserVersion != null) {
+            manager.browserVersion(major(browserVersion));
+        }
+        manager.setup();
+        String driverPath = manager.getDownloadedDriverPath();
+        if (driverPath == null) {
+            throw new IllegalStateException("WebDriverManager did not resolve a driver for " + browser + " " + browserVersion);
+        }
+        return Paths.get(driverPath);
+    }
+
+    /**
+     * @return The first version number printed by {@code command --version}, or null if the command is missing
+     */
+    private static String version(String command) {
+        return firstVersion(List.of(command, "--version"));
+    }
+
+    /**
+     * The output goes to a temporary file rather than a pipe, so a command that never exits, e.g. a browser that
+     * opens a window instead of printing its version, is stopped by the timeout instead of blocking the read.
+     *
+     * @return The first version number a command prints, or null if it is missing, fails or takes over 10 seconds
+     */
+    private static String firstVersion(List<String> command) {
+        Path output = null;
+        try {
+            output = Files.createTempFile("driver-version", ".txt");
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(output.toFile()).start();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return null;
+            }
+            Matcher matcher = VERSION.matcher(new String(Files.readAllBytes(output), StandardCharsets.UTF_8));
+            return process.exitValue() == 0 && matcher.find() ? matcher.group() : null;
+        } catch (IOException e) {
+            return null;  // Not installed under this name
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            deleteQuietly(output);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.debug("Failed to delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static String major(String version) {
+        int dot = version.indexOf('.');
+        return dot < 0 ? version : version.substring(0, dot);
+    }
+
+    private static Path cacheFile(TestConfig config) {
+        String directory = config.getString("driver_cache_dir");
+        Path base = directory != null
+                ? Paths.get(directory)
+                : Paths.get(System.getProperty("user.home"), ".cache", "ui-automation");
+        return base.resolve(CACHE_FILE);
+    }
+
+    private static Properties readCache(Path cacheFile) {
+        Properties cache = new Properties();
+        if (Files.isRegularFile(cacheFile)) {
+            try (InputStream input = Files.newInputStream(cacheFile)) {
+                cache.load(input);
+            } catch (IOException e) {
+                logger.warn("Ignoring unreadable driver cache {}: {}", cacheFile, e.getMessage());
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Written to a temporary file first, so parallel builds never read a half-written cache.
+     */
+    private static void writeCache(Path cacheFile, Properties cache) {
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            Path temporary = cacheFile.resolveSibling(CACHE_FILE + "." + ProcessHandle.current().pid() + ".tmp");
+            try (OutputStream output = Files.newOutputStream(temporary)) {
+                cache.store(output, "Driver binaries by browser version");
+            }
+            Files.move(temporary, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to update driver cache {}: {}", cacheFile, e.getMessage());
+        }
+    }
+}
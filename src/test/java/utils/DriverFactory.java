@@ -0,0 +1,135 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.safari.SafariDriver;
+import org.openqa.selenium.safari.SafariOptions;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+
+/**
+ * Creates new browser sessions based on the settings in {@link TestConfig}.
+ * Used directly by InitialiseTest and by the DriverPool when it needs a fresh session.
+ */
+public class DriverFactory {
+
+    private static final Logger logger = LogManager.getLogger(DriverFactory.class);
+
+    /**
+     * Launch a new browser session for the configured browser.
+     *
+     * @return A new WebDriver instance
+     */
+    public static WebDriver createDriver() {
+        TestConfig config = TestConfig.get();
+        boolean isHeadless = config.isHeadless();
+
+        // Check if running in CI/CD
+        boolean isCiCd = config.isCi();
+        PageLoadStrategy pageLoadStrategy = getPageLoadStrategy();
+        URL remoteUrl = getRemoteUrl();
+
+        switch (config.getBrowser()) {
+            case CHROME:
+                ChromeOptions chromeOptions = new ChromeOptions();
+                chromeOptions.setPageLoadStrategy(pageLoadStrategy);
+
+                if (isHeadless) {
+                    chromeOptions.addArguments("--headless", "--window-size=1920x1080", "--disable-gpu", "--no-sandbox");
+                } else {
+                    chromeOptions.addArguments("--start-maximized");
+                }
+
+                if (remoteUrl != null) {
+                    return new RemoteWebDriver(remoteUrl, chromeOptions);
+                }
+                if (isCiCd) {
+                    // Use ChromeDriver path from environment (CHROMEDRIVER_PATH) or config in CI/CD
+                    String chromeDriverPath = config.getRequiredString("chromedriver_path");
+                    System.setProperty("webdriver.chrome.driver", chromeDriverPath);
+                    logger.info("Running in CI/CD mode with ChromeDriver path: {}", chromeDriverPath);
+                } else {
+                    // Resolved once per JVM, from the on-disk cache when the browser version is unchanged
+                    System.setProperty("webdriver.chrome.driver", DriverBinaryResolver.resolve(Browser.CHROME).toString());
+                    logger.info("Running in local mode with Chromedriver.");
+                }
+
+                return new ChromeDriver(chromeOptions);
+
+            case SAFARI:
+                SafariOptions safariOptions = new SafariOptions();
+                safariOptions.setPageLoadStrategy(pageLoadStrategy);
+                if (remoteUrl != null) {
+                    return new RemoteWebDriver(remoteUrl, safariOptions);
+                }
+                return new SafariDriver(safariOptions);
+
+            case EDGE:
+                EdgeOptions edgeOptions = new EdgeOptions();
+                edgeOptions.setPageLoadStrategy(pageLoadStrategy);
+                if (isHeadless) {
+                    edgeOptions.addArguments("--headless", "--window-size=1920x1080");
+                }
+
+                if (remoteUrl != null) {
+                    return new RemoteWebDriver(remoteUrl, edgeOptions);
+                }
+                if (isCiCd) {
+                    String edgeDriverPath = config.getRequiredString("edgedriver_path");
+                    System.setProperty("webdriver.edge.driver", edgeDriverPath);
+                    logger.info("Running in CI/CD mode with EdgeDriver path: {}", edgeDriverPath);
+                } else {
+                    System.setProperty("webdriver.edge.driver", DriverBinaryResolver.resolve(Browser.EDGE).toString());
+                    logger.info("Running in local mode with Edgedriver.");
+                }
+
+                return new EdgeDriver(edgeOptions);
+
+            default:
+                throw new IllegalArgumentException("Unsupported browser: " + config.getBrowser());
+        }
+    }
+
+    /**
+     * The Selenium Grid or cloud browser farm new sessions are started on, configured with {@code remote_url},
+     * e.g. {@code http://grid:4444}. Without it browsers are launched locally.
+     *
+     * @return The remote endpoint, or null for local browsers
+     * @throws IllegalArgumentException if the configured value is not a URL
+     */
+    public static URL getRemoteUrl() {
+        String value = TestConfig.get().getString("remote_url");
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new URL(value.trim());
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("Invalid remote_url: " + value, e);
+        }
+    }
+
+    /**
+     * The page load strategy of new sessions, configured with {@code page_load_strategy}:
+     * "normal" (default) waits for the load event, "eager" for DOM interactive and "none" for nothing.
+     *
+     * @return The configured strategy
+     * @throws IllegalArgumentException if the configured value is not a page load strategy
+     */
+    public static PageLoadStrategy getPageLoadStrategy() {
+        String value = TestConfig.get().getString("page_load_strategy", "normal");
+        PageLoadStrategy strategy = PageLoadStrategy.fromString(value.trim().toLowerCase());
+        if (strategy == null) {
+            throw new IllegalArgumentException("Unsupported page_load_strategy: " + value + " (expected normal, eager or none)");
+        }
+        return strategy;
+    }
+}
@@ -0,0 +1,201 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.ChromiumDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Pool of warm browser sessions that are reused across test methods.
+ * <p>
+ * A session is reset between tests (cookies, localStorage, sessionStorage and extra windows)
+ * and recycled once it has been used {@code maxReuse} times or after a test using it failed.
+ * At most {@code poolSize} sessions are alive at any time; callers block until one is free.
+ */
+public class DriverPool {
+
+    private static final Logger logger = LogManager.getLogger(DriverPool.class);
+
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "try { window.localStorage.clear(); } catch (e) {}"
+                    + "try { window.sessionStorage.clear(); } catch (e) {}";
+
+    private final Supplier<WebDriver> driverSupplier;
+    private final int maxReuse;
+    private final boolean healthCheck;
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledSession> idle = new LinkedBlockingDeque<>();
+    private final Map<WebDriver, PooledSession> leased = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    /**
+     * @param driverSupplier Creates a new browser session when the pool needs one
+     * @param poolSize       Maximum number of sessions alive at the same time
+     * @param maxReuse       Number of tests a session may serve before it is recycled
+     * @param healthCheck    Whether to verify an idle session still responds before handing it out
+     */
+    public DriverPool(Supplier<WebDriver> driverSupplier, int poolSize, int maxReuse, boolean healthCheck) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("Driver pool size must be at least 1: " + poolSize);
+        }
+        if (maxReuse < 1) {
+            throw new IllegalArgumentException("Driver pool max reuse must be at least 1: " + maxReuse);
+        }
+        this.driverSupplier = driverSupplier;
+        this.maxReuse = maxReuse;
+        this.healthCheck = healthCheck;
+        this.permits = new Semaphore(poolSize, true);
+    }
+
+    /**
+     * Take a session from the pool, launching a new browser if no healthy idle session is available.
+     * Blocks while all sessions are in use.
+     *
+     * @return A clean WebDriver session
+     */
+    public WebDriver acquire() {
+        if (closed) {
+            throw new IllegalStateException("Driver pool has been shut down");
+        }
+        permits.acquireUninterruptibly();
+        try {
+            PooledSession session;
+            while ((session = idle.pollFirst()) != null) {
+                if (!healthCheck || isHealthy(session.driver)) {
+                    break;
+                }
+                logger.warn("Discarding unhealthy pooled browser session after {} uses.", session.uses);
+                quitQuietly(session.driver);
+            }
+            if (session == null) {
+                session = new PooledSession(driverSupplier.get());
+                logger.info("Launched new pooled browser session.");
+            }
+            session.uses++;
+            leased.put(session.driver, session);
+            return session.driver;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Return a session to the pool. Sessions are quit instead of reused when the test failed,
+     * the reuse limit is reached, the state reset fails or the pool has been shut down.
+     *
+     * @param driver     The session obtained from {@link #acquire()}
+     * @param testFailed Whether the test that used the session failed
+     */
+    public void release(WebDriver driver, boolean testFailed) {
+        PooledSession session = leased.remove(driver);
+        if (session == null) {
+            throw new IllegalArgumentException("WebDriver session was not acquired from this pool");
+        }
+        try {
+            if (closed || testFailed || session.uses >= maxReuse) {
+                logger.info("Recycling pooled browser session after {} uses (test failed: {}).", session.uses, testFailed);
+                quitQuietly(driver);
+            } else if (resetSession(session)) {
+                idle.offerFirst(session);  // Most recently used first keeps the fewest browsers warm
+            } else {
+                quitQuietly(driver);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Quit all idle sessions and reject further acquisitions.
+     * Sessions still leased are quit when they are released.
+     */
+    public void shutdown() {
+        closed = true;
+        List<PooledSession> sessions = new ArrayList<>();
+        idle.drainTo(sessions);
+        for (PooledSession session : sessions) {
+            quitQuietly(session.driver);
+        }
+        logger.info("Driver pool shut down, {} idle sessions closed.", sessions.size());
+    }
+
+    /**
+     * Clear cookies, web storage and any windows opened by the previous test.
+     *
+     * @return True if the session is clean and can be reused
+     */
+    private boolean resetSession(PooledSession session) {
+        return resetState(session.driver, session.originalWindow);
+    }
+
+    /**
+     * Bring a session back to a blank state: close all windows but one, clear web storage and cookies
+     * and open about:blank.
+     *
+     * @param driver       Undecorated driver of the session
+     * @param windowToKeep Handle of the window to keep open
+     * @return True if the session is clean and can be reused
+     */
+    static boolean resetState(WebDriver driver, String windowToKeep) {
+        try {
+            for (String handle : driver.getWindowHandles()) {
+                if (!handle.equals(windowToKeep)) {
+                    driver.switchTo().window(handle).close();
+                }
+            }
+            driver.switchTo().window(windowToKeep);
+
+            ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+            if (driver instanceof ChromiumDriver) {
+                // Clears cookies of every domain, not only the one currently loaded
+                ((ChromiumDriver) driver).executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            }
+            driver.manage().deleteAllCookies();
+            driver.get("about:blank");
+            ElementCache.invalidate(driver);
+            return true;
+        } catch (WebDriverException e) {
+            logger.warn("Failed to reset browser session: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            logger.warn("Failed to quit browser session: {}", e.getMessage());
+        }
+    }
+
+    private static class PooledSession {
+        private final WebDriver driver;
+        private final String originalWindow;
+        private int uses;
+
+        private PooledSession(WebDriver driver) {
+            this.driver = driver;
+            this.originalWindow = driver.getWindowHandle();
+        }
+    }
+}
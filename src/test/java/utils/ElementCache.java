@@ -0,0 +1,115 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Found elements of one browser session, keyed by locator, so repeated actions on the same element skip
+ * the wait and findElement round-trips.
+ * <p>
+ * Entries belong to the document they were found in. Navigation through {@link BrowserUtil} and session resets
+ * in the {@link DriverPool} clear the cache; elements invalidated in any other way (a click that navigates,
+ * a re-render) throw StaleElementReferenceException on use and are evicted and found again by the caller.
+ * Hit, miss and stale counters are shared by all sessions and logged at the end of the suite.
+ */
+public class ElementCache {
+
+    private static final Map<WebDriver, ElementCache> CACHES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final LongAdder STALE = new LongAdder();
+
+    private final Map<Locator, WebElement> elements = new ConcurrentHashMap<>();
+
+    private ElementCache() {
+    }
+
+    /**
+     * @param driver Browser session
+     * @return The cache of the session, created on first use
+     */
+    public static ElementCache forDriver(WebDriver driver) {
+        return CACHES.computeIfAbsent(driver, key -> new ElementCache());
+    }
+
+    /**
+     * Forget all elements of the session, e.g. because it is about to load another document.
+     *
+     * @param driver Browser session
+     */
+    public static void invalidate(WebDriver driver) {
+        ElementCache cache = CACHES.get(driver);
+        if (cache != null) {
+            cache.elements.clear();
+        }
+    }
+
+    /**
+     * @param locator Locator of the element
+     * @return The cached element, or null if it has not been found in this document yet
+     */
+    public WebElement get(Locator locator) {
+        WebElement element = elements.get(locator);
+        if (element == null) {
+            MISSES.increment();
+        } else {
+            HITS.increment();
+        }
+        return element;
+    }
+
+    public void put(Locator locator, WebElement element) {
+        elements.put(locator, element);
+    }
+
+    /**
+     * Drop an element that turned out to be stale or no longer usable.
+     *
+     * @param locator Locator of the element
+     */
+    public void evict(Locator locator) {
+        elements.remove(locator);
+    }
+
+    /**
+     * Count an element that went stale and had to be found again.
+     */
+    public static void recordStale() {
+        STALE.increment();
+    }
+
+    /**
+     * @return Number of lookups answered from a cache, i.e. findElement calls saved
+     */
+    public static long getHits() {
+        return HITS.sum();
+    }
+
+    /**
+     * @return Number of lookups that had to find the element
+     */
+    public static long getMisses() {
+        return MISSES.sum();
+    }
+
+    /**
+     * @return Number of elements that went stale and were found again
+     */
+    public static long getStaleRecoveries() {
+        return STALE.sum();
+    }
+
+    /**
+     * @return The counters in one line, for logging
+     */
+    public static String summary() {
+        return String.format("hits=%d, misses=%d, stale recoveries=%d", getHits(), getMisses(), getStaleRecoveries());
+    }
+}
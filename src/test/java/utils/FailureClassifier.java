@@ -0,0 +1,93 @@
+package utils;
+
+import exceptions.ElementNotFoundException;
+import exceptions.PageLoadTimeoutException;
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Tells failures worth retrying from real test failures.
+ * <p>
+ * The whole cause chain of a failure is inspected, so a transient Selenium exception wrapped in one of the
+ * framework's {@code exceptions} still counts as transient. An {@link AssertionError} anywhere in the chain
+ * makes the failure real: the application was reached and answered wrongly.
+ */
+public final class FailureClassifier {
+
+    /**
+     * How a test failed, and whether running it again can help.
+     */
+    public enum FailureType {
+        /** A timing problem in a working browser: retry in the same session. */
+        TRANSIENT,
+        /** The browser or its driver stopped answering: retry in a new session. */
+        BROKEN_SESSION,
+        /** An assertion failed or the test itself is broken: do not retry. */
+        REAL;
+
+        public boolean isRetryable() {
+            return this != REAL;
+        }
+    }
+
+    /** Driver errors reporting a dead connection rather than a page problem, lower case. */
+    private static final List<String> BROKEN_SESSION_MESSAGES = List.of(
+            "connection reset", "connection refused", "chrome not reachable", "disconnected: not connected to devtools",
+            "session deleted because of page crash", "target crashed");
+
+    private FailureClassifier() {
+    }
+
+    /**
+     * @param failure Throwable a test failed with, may be null
+     * @return The failure type, REAL for unknown failures
+     */
+    public static FailureType classify(Throwable failure) {
+        FailureType type = FailureType.REAL;
+        boolean transientCause = false;
+        for (Throwable cause = failure; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof AssertionError) {
+                return FailureType.REAL;
+            }
+            if (isBrokenSession(cause)) {
+                type = FailureType.BROKEN_SESSION;
+            } else if (isTransient(cause)) {
+                transientCause = true;
+            }
+        }
+        return type == FailureType.REAL && transientCause ? FailureType.TRANSIENT : type;
+    }
+
+    private static boolean isTransient(Throwable cause) {
+        return cause instanceof StaleElementReferenceException
+                || cause instanceof TimeoutException  // Includes waits that gave up
+                || cause instanceof ElementClickInterceptedException  // An overlay was still animating away
+                || cause instanceof PageLoadTimeoutException
+                || cause instanceof ElementNotFoundException;
+    }
+
+    private static boolean isBrokenSession(Throwable cause) {
+        if (cause instanceof NoSuchSessionException
+                || cause instanceof UnreachableBrowserException
+                || cause instanceof SessionNotCreatedException
+                || cause instanceof ConnectException
+                || cause instanceof SocketException) {
+            return true;
+        }
+        if (cause instanceof WebDriverException && cause.getMessage() != null) {
+            String message = cause.getMessage().toLowerCase(Locale.ROOT);
+            return BROKEN_SESSION_MESSAGES.stream().anyMatch(message::contains);
+        }
+        return false;
+    }
+}
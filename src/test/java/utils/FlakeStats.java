@@ -0,0 +1,208 @@
+package utils;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Recent outcomes of every test across runs, to find tests that only pass on a retry.
+ * <p>
+ * Each test keeps its last {@value #WINDOW} outcomes as a string of {@link Outcome} codes in a JSON file,
+ * {@code flake-stats.json} in the project directory unless {@code -Dflake.stats=path} is given. The file is
+ * outside {@code target} so {@code mvn clean} keeps it; CI should cache it between builds. Outcomes of the
+ * current run are merged into the file under a file lock, so forked shards can share it.
+ */
+public final class FlakeStats {
+
+    /** Number of most recent outcomes kept per test. */
+    static final int WINDOW = 20;
+
+    /**
+     * Final outcome of one test invocation, after any retries.
+     */
+    public enum Outcome {
+        PASSED('P'),
+        /** Failed with a transient failure first, passed on a retry. */
+        PASSED_ON_RETRY('R'),
+        /** Still failed with a transient failure after all retries. */
+        FAILED_TRANSIENT('T'),
+        FAILED('F');
+
+        private final char code;
+
+        Outcome(char code) {
+            this.code = code;
+        }
+
+        private boolean isPass() {
+            return this == PASSED || this == PASSED_ON_RETRY;
+        }
+
+        private static Outcome fromCode(char code) {
+            for (Outcome outcome : values()) {
+                if (outcome.code == code) {
+                    return outcome;
+                }
+            }
+            throw new IllegalArgumentException("Unknown outcome code: " + code);
+        }
+    }
+
+    private final Path file;
+    private final Map<String, String> history;
+    private final Map<String, StringBuilder> recorded = new LinkedHashMap<>();  // This run only, merged on save
+
+    private static class Holder {
+        private static final FlakeStats INSTANCE = load(Paths.get(System.getProperty("flake.stats",
+                Paths.get(System.getProperty("user.dir"), "flake-stats.json").toString())));
+    }
+
+    private FlakeStats(Path file, Map<String, String> history) {
+        this.file = file;
+        this.history = history;
+    }
+
+    /**
+     * @return The statistics of the file configured with {@code -Dflake.stats}, read on first use
+     */
+    public static FlakeStats getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * @param file Statistics file, may be missing
+     * @return The statistics in the file
+     */
+    public static FlakeStats load(Path file) {
+        try {
+            return new FlakeStats(file, read(file));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read flake statistics from " + file, e);
+        }
+    }
+
+    /**
+     * @param test    "class.method"
+     * @param outcome Final outcome of one invocation in this run
+     */
+    public synchronized void record(String test, Outcome outcome) {
+        recorded.computeIfAbsent(test, name -> new StringBuilder()).append(outcome.code);
+    }
+
+    /**
+     * @param test "class.method"
+     * @return Outcome codes of the test, oldest first, including this run
+     */
+    public synchronized String history(String test) {
+        StringBuilder current = recorded.get(test);
+        return trim(history.getOrDefault(test, "") + (current != null ? current : ""));
+    }
+
+    /**
+     * Flaky outcomes are passes on a retry, and failures the test recovered from in a later run. Failures after
+     * the last pass are not counted: a test failing the same way every run is broken, not flaky.
+     *
+     * @param test "class.method"
+     * @return Percentage of the test's recent runs that were flaky, 0 without history
+     */
+    public int flakePercent(String test) {
+        String outcomes = history(test);
+        if (outcomes.isEmpty()) {
+            return 0;
+        }
+        int lastPass = -1;
+        for (int i = 0; i < outcomes.length(); i++) {
+            if (Outcome.fromCode(outcomes.charAt(i)).isPass()) {
+                lastPass = i;
+            }
+        }
+        int flaky = 0;
+        for (int i = 0; i < outcomes.length(); i++) {
+            Outcome outcome = Outcome.fromCode(outcomes.charAt(i));
+            if (outcome == Outcome.PASSED_ON_RETRY || (!outcome.isPass() && i < lastPass)) {
+                flaky++;
+            }
+        }
+        return flaky * 100 / outcomes.length();
+    }
+
+    /**
+     * A test whose last {@code minRuns} runs all failed is never chronically flaky, so a regression, e.g. a removed
+     * element timing out on every run, keeps failing the suite instead of quarantining its own test.
+     *
+     * @param test     "class.method"
+     * @param minRuns  Runs needed before a test can be quarantined
+     * @param percent  Flake percentage from which a test is quarantined
+     * @return True if the test is flaky often enough that running it wastes more time than it tells
+     */
+    public boolean isChronicallyFlaky(String test, int minRuns, int percent) {
+        String outcomes = history(test);
+        if (outcomes.length() < minRuns) {
+            return false;
+        }
+        boolean recentPass = outcomes.substring(outcomes.length() - Math.max(minRuns, 1)).chars()
+                .anyMatch(code -> Outcome.fromCode((char) code).isPass());
+        return recentPass && flakePercent(test) >= percent;
+    }
+
+    /**
+     * @return True if outcomes were recorded in this run
+     */
+    public synchronized boolean hasRecorded() {
+        return !recorded.isEmpty();
+    }
+
+    /**
+     * Merge this run's outcomes into the file, on top of what other processes wrote since it was read.
+     */
+    public synchronized void save() throws IOException {
+        if (recorded.isEmpty()) {
+            return;
+        }
+        Path absolute = file.toAbsolutePath();
+        Files.createDirectories(absolute.getParent());
+        Path lockFile = absolute.resolveSibling(absolute.getFileName() + ".lock");
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock lock = channel.lock()) {
+            Map<String, String> merged = read(absolute);
+            recorded.forEach((test, outcomes) -> merged.merge(test, outcomes.toString(), (old, current) -> trim(old + current)));
+            JSONObject json = new JSONObject();
+            merged.forEach(json::put);
+            Path temporary = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+            Files.writeString(temporary, json.toString(2), StandardCharsets.UTF_8);
+            Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    private static Map<String, String> read(Path file) throws IOException {
+        Map<String, String> history = new HashMap<>();
+        if (!Files.isRegularFile(file)) {
+            return history;
+        }
+        try {
+            JSONObject json = new JSONObject(Files.readString(file, StandardCharsets.UTF_8));
+            for (String test : json.keySet()) {
+                history.put(test, json.getString(test));
+            }
+        } catch (JSONException e) {
+            throw new IOException("Malformed flake statistics file: " + e.getMessage(), e);
+        }
+        return history;
+    }
+
+    private static String trim(String outcomes) {
+        return outcomes.length() > WINDOW ? outcomes.substring(outcomes.length() - WINDOW) : outcomes;
+    }
+}
@@ -0,0 +1,92 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Fills many form fields with as few driver round-trips as possible.
+ * <p>
+ * One script waits until all fields are visible and sets the values of every field that does not need real
+ * keystrokes, using the native value setter followed by input and change events so framework-controlled inputs
+ * (e.g. React) register the change. When the fields are already visible, the whole form costs one round-trip.
+ * Fields listed as typed are then filled with {@code clear()} and {@code sendKeys()}.
+ * Locators that cannot be resolved inside the page fall back to a wait and sendKeys per field.
+ */
+public class FormFiller {
+
+    private static final String FILL_SCRIPT =
+            "var fields = arguments[0];\n"
+            + InBrowserWait.DOM_HELPERS
+            + "var elements = [];\n"
+            + "for (var i = 0; i < fields.length; i++) {\n"
+            + "  var el = find(fields[i][0], fields[i][1]);\n"
+            + "  if (!el || !isVisible(el)) return null;\n"
+            + "  elements.push(el);\n"
+            + "}\n"
+            + "for (var j = 0; j < fields.length; j++) {\n"
+            + "  if (fields[j][3]) continue;\n"
+            + "  var field = elements[j];\n"
+            + "  var proto = field instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype\n"
+            + "      : field instanceof HTMLSelectElement ? HTMLSelectElement.prototype : HTMLInputElement.prototype;\n"
+            + "  field.focus();\n"
+            + "  Object.getOwnPropertyDescriptor(proto, 'value').set.call(field, fields[j][2]);\n"
+            + "  field.dispatchEvent(new Event('input', {bubbles: true}));\n"
+            + "  field.dispatchEvent(new Event('change', {bubbles: true}));\n"
+            + "  field.blur();\n"
+            + "}\n"
+            + "return elements;\n";
+
+    private final WaitUtil waitUtil;
+
+    public FormFiller(WaitUtil waitUtil) {
+        this.waitUtil = waitUtil;
+    }
+
+    /**
+     * Fill the fields in the map's iteration order.
+     *
+     * @param values      Field locators and the values to enter
+     * @param typedFields Fields that must receive real keystrokes instead of a scripted value
+     */
+    public void fill(Map<Locator, String> values, Set<Locator> typedFields) {
+        List<Locator> locators = new ArrayList<>(values.keySet());
+        List<List<Object>> fields = new ArrayList<>();
+        for (Locator locator : locators) {
+            String[] selector = InBrowserWait.toSelector(locator.getBy());
+            if (selector == null) {
+                fillOneByOne(values, locators);
+                return;
+            }
+            String value = Objects.requireNonNull(values.get(locator), "No value given for field: " + locator);
+            fields.add(List.of(selector[0], selector[1], value, typedFields.contains(locator)));
+        }
+
+        @SuppressWarnings("unchecked")
+        List<WebElement> elements = waitUtil.waitUntil("formFields", webDriver ->
+                (List<WebElement>) ((JavascriptExecutor) webDriver).executeScript(FILL_SCRIPT, fields));
+
+        for (int i = 0; i < locators.size(); i++) {
+            if (typedFields.contains(locators.get(i))) {
+                WebElement element = elements.get(i);
+                element.clear();
+                element.sendKeys(values.get(locators.get(i)));
+            }
+        }
+    }
+
+    private void fillOneByOne(Map<Locator, String> values, List<Locator> locators) {
+        for (Locator locator : locators) {
+            By by = locator.getBy();
+            WebElement element = waitUtil.waitForElementToBeVisible(by);
+            element.clear();
+            element.sendKeys(values.get(locator));
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Waits for a condition with a single executeAsyncScript call instead of polling from the JVM.
+ * <p>
+ * The injected script checks the condition once and, if it does not hold yet, re-checks it on DOM mutations
+ * (MutationObserver), readyState changes and every animation frame (for visibility changes driven only by CSS),
+ * calling back as soon as the condition holds or the timeout expires. One wait therefore costs one round-trip.
+ * <p>
+ * Only locators that can be resolved in the page (id, name, class name, tag name, CSS and XPath) are supported;
+ * {@link WaitUtil} falls back to client polling for anything else.
+ */
+public class InBrowserWait {
+
+    public enum Condition {
+        PRESENT, VISIBLE, CLICKABLE, PAGE_LOAD, DOM_INTERACTIVE;
+
+        /**
+         * @return True for conditions on the document's ready state, which take no locator
+         */
+        public boolean isDocumentState() {
+            return this == PAGE_LOAD || this == DOM_INTERACTIVE;
+        }
+    }
+
+    /**
+     * Element lookup by the strategies of {@link #toSelector(By)} and a visibility check close to WebDriver's.
+     * Shared by the scripts that resolve locators inside the page.
+     */
+    static final String DOM_HELPERS =
+            "function find(strategy, selector) {\n"
+            + "  switch (strategy) {\n"
+            + "    case 'id': return document.getElementById(selector);\n"
+            + "    case 'name': return document.getElementsByName(selector)[0];\n"
+            + "    case 'class': return document.getElementsByClassName(selector)[0];\n"
+            + "    case 'tag': return document.getElementsByTagName(selector)[0];\n"
+            + "    case 'css': return document.querySelector(selector);\n"
+            + "    case 'xpath': return document.evaluate(selector, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;\n"
+            + "  }\n"
+            + "  return null;\n"
+            + "}\n"
+            + "function isVisible(el) {\n"
+            + "  var style = window.getComputedStyle(el);\n"
+            + "  if (style.display === 'none' || style.visibility === 'hidden' || style.opacity === '0') return false;\n"
+            + "  var rect = el.getBoundingClientRect();\n"
+            + "  return rect.width > 0 && rect.height > 0;\n"
+            + "}\n";
+
+    private static final String SCRIPT =
+            "var strategy = arguments[0], selector = arguments[1], condition = arguments[2], timeout = arguments[3];\n"
+            + "var done = arguments[arguments.length - 1];\n"
+            + DOM_HELPERS
+            + "function check() {\n"
+            + "  if (condition === 'PAGE_LOAD') return document.readyState === 'complete' ? true : null;\n"
+            + "  if (condition === 'DOM_INTERACTIVE') return document.readyState !== 'loading' ? true : null;\n"
+            + "  var el = find(strategy, selector);\n"
+            + "  if (!el) return null;\n"
+            + "  if (condition === 'PRESENT') return el;\n"
+            + "  if (!isVisible(el)) return null;\n"
+            + "  if (condition === 'CLICKABLE' && el.disabled) return null;\n"
+            + "  return el;\n"
+            + "}\n"
+            + "var initial = check();\n"
+            + "if (initial) { done(initial); return; }\n"
+            + "var finished = false, observer, timer, frame;\n"
+            + "function finish(result) {\n"
+            + "  if (finished) return;\n"
+            + "  finished = true;\n"
+            + "  if (observer) observer.disconnect();\n"
+            + "  if (frame) window.cancelAnimationFrame(frame);\n"
+            + "  window.clearTimeout(timer);\n"
+            + "  document.removeEventListener('readystatechange', onChange);\n"
+            + "  window.removeEventListener('load', onChange);\n"
+            + "  done(result);\n"
+            + "}\n"
+            + "function onChange() { var result = check(); if (result) finish(result); }\n"
+            + "function onFrame() { onChange(); if (!finished) frame = window.requestAnimationFrame(onFrame); }\n"
+            + "observer = new MutationObserver(onChange);\n"
+            + "observer.observe(document, {subtree: true, childList: true, attributes: true});\n"
+            + "document.addEventListener('readystatechange', onChange);\n"
+            + "window.addEventListener('load', onChange);\n"
+            + "if (condition === 'VISIBLE' || condition === 'CLICKABLE') frame = window.requestAnimationFrame(onFrame);\n"
+            + "timer = window.setTimeout(function () { finish(null); }, timeout);\n";
+
+    /** Script timeouts already applied per session, so they are set once rather than on every wait. */
+    private static final Map<WebDriver, Long> SCRIPT_TIMEOUTS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /** Extra time the driver allows the script beyond the in-page timeout, so the page reports the timeout. */
+    private static final long SCRIPT_TIMEOUT_MARGIN_MS = 2000;
+
+    private final WebDriver driver;
+
+    public InBrowserWait(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * @param locator Locator to wait for
+     * @return True if the locator can be resolved inside the page
+     */
+    public static boolean supports(By locator) {
+        return toSelector(locator) != null;
+    }
+
+    /**
+     * Wait inside the page until the condition holds.
+     *
+     * @param condition Condition to wait for
+     * @param locator   Element locator, ignored for document states
+     * @param timeout   Maximum time to wait
+     * @return The element (or {@code Boolean.TRUE} for document states), or null if the script was interrupted before
+     *         the timeout, e.g. because the page navigated away; callers then continue with client polling
+     * @throws TimeoutException if the condition did not hold in time
+     */
+    public Object waitFor(Condition condition, By locator, Duration timeout) {
+        String[] selector = condition.isDocumentState() ? new String[] {"", ""} : toSelector(locator);
+        if (selector == null) {
+            throw new IllegalArgumentException("Locator cannot be resolved in the page: " + locator);
+        }
+        ensureScriptTimeout(timeout.toMillis() + SCRIPT_TIMEOUT_MARGIN_MS);
+
+        String name = condition.name().toLowerCase() + "[in-browser]";
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = ((JavascriptExecutor) driver).executeAsyncScript(SCRIPT, selector[0], selector[1], condition.name(), timeout.toMillis());
+        } catch (WebDriverException e) {
+            // Typically "document unloaded while waiting for result" after a navigation
+            WaitMetrics.record(name, System.nanoTime() - start, 1, false);
+            return null;
+        }
+
+        long elapsed = System.nanoTime() - start;
+        WaitMetrics.record(name, elapsed, 1, result == null);
+        if (result == null) {
+            throw new TimeoutException(String.format("Expected condition failed: waiting in browser for %s of %s (tried for %d ms)",
+                    condition, locator, elapsed / 1_000_000));
+        }
+        return result;
+    }
+
+    private void ensureScriptTimeout(long millis) {
+        Long current = SCRIPT_TIMEOUTS.get(driver);
+        if (current == null || current < millis) {
+            driver.manage().timeouts().scriptTimeout(Duration.ofMillis(millis));
+            SCRIPT_TIMEOUTS.put(driver, millis);
+        }
+    }
+
+    /**
+     * Translate a Selenium locator into a strategy and selector the script understands.
+     * Relies on the "By.strategy: value" format of the standard locators' toString().
+     *
+     * @return {strategy, selector}, or null if the locator is not supported
+     */
+    static String[] toSelector(By locator) {
+        String description = locator.toString();
+        int separator = description.indexOf(": ");
+        if (separator < 0) {
+            return null;
+        }
+        String value = description.substring(separator + 2);
+        switch (description.substring(0, separator)) {
+            case "By.id": return new String[] {"id", value};
+            case "By.name": return new String[] {"name", value};
+            case "By.className": return new String[] {"class", value};
+            case "By.tagName": return new String[] {"tag", value};
+            case "By.cssSelector": return new String[] {"css", value};
+            case "By.xpath": return new String[] {"xpath", value};
+            default: return null;
+        }
+    }
+}
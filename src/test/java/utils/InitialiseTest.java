@@ -1,130 +1,447 @@
 package utils;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
-import io.qameta.allure.Attachment;
-import io.qameta.allure.Step;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.json.JSONObject;
 import org.openqa.selenium.WebDriver;
-import org.slf4j.MDC;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WrapsDriver;
+import org.testng.ITestResult;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.Listeners;
 
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.edge.EdgeDriver;
-import org.openqa.selenium.edge.EdgeOptions;
-import org.openqa.selenium.safari.SafariDriver;
-
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Listeners(io.qameta.allure.testng.AllureTestNg.class)
 public class InitialiseTest {
 
-    protected WebDriver driver;
-    protected ConfigReader config;
-    protected BrowserUtil browserUtil;
+    protected ConfigReader config = new ConfigReader();
     protected static final Logger logger = LogManager.getLogger(InitialiseTest.class);
+    private static DriverPool driverPool;
+    private static BrowserLauncher browserLauncher;
+    private static final ThreadLocal<NetworkBlocker> networkBlocker = new ThreadLocal<>();
+    private static final ThreadLocal<WebDriver> retrySession = new ThreadLocal<>();  // Kept for the retry of a transient failure
+    private static final Set<WebDriver> retrySessions = ConcurrentHashMap.newKeySet();
+    private static final ThreadLocal<CommandTracer> commandTracer = new ThreadLocal<>();  // Set when command tracing is on
+    private static volatile boolean commandsTraced;
+    private static OfflineStorefront storefront;
+    private static long suiteStartNanos;
+    private static final AtomicInteger finishedTests = new AtomicInteger();
+
+    /**
+     * Load and validate the configuration and all locator files before any browser is started,
+     * so a bad config value or a broken locator file fails the suite immediately.
+     */
+    @BeforeSuite(alwaysRun = true)
+    public void validateConfiguration() {
+        TestConfig testConfig = TestConfig.get();
+        logger.info("Configuration loaded for browser: {}", testConfig.getBrowser());
+        logger.info("Waits run in {} mode, polling with policy: {}", WaitUtil.getGlobalMode(), WaitEngine.getGlobalPolicy());
+        logger.info("Loaded {} locator files.", LocatorRegistry.getInstance().size());
+        logger.info("Network profile: {}", NetworkProfile.fromConfig(testConfig));
+        logger.info("Page load strategy: {}", DriverFactory.getPageLoadStrategy());
+        logger.info("Browsers: {}", DriverFactory.getRemoteUrl() != null ? "remote at " + DriverFactory.getRemoteUrl() : "local");
+        VirtualThreadExecutorFactory.setCapacity(testConfig.getInt("remote_capacity", 0));
+        startOfflineStorefront(testConfig);
+        startBrowserLauncher(testConfig);
+    }
+
+    /**
+     * Start launching {@code prewarm_sessions} browsers in the background, so tests take a running session
+     * instead of waiting for a cold start. With the driver pool, new pooled sessions come from the launcher too.
+     */
+    private static void startBrowserLauncher(TestConfig testConfig) {
+        synchronized (InitialiseTest.class) {
+            int sessions = testConfig.getInt("prewarm_sessions", 0);
+            if (browserLauncher == null && sessions > 0) {
+                browserLauncher = new BrowserLauncher(DriverFactory::createDriver, sessions);
+            }
+        }
+    }
+
+    /**
+     * @return A new browser session, pre-launched when {@code prewarm_sessions} is set
+     */
+    private static WebDriver createDriver() {
+        BrowserLauncher launcher = browserLauncher;
+        return launcher != null ? launcher.take() : DriverFactory.createDriver();
+    }
+
+    /**
+     * Serve the storefront locally instead of using the live site when {@code offline_storefront=true},
+     * so suite duration does not depend on the network.
+     */
+    private static void startOfflineStorefront(TestConfig testConfig) {
+        synchronized (InitialiseTest.class) {
+            if (storefront == null && testConfig.getBoolean("offline_storefront", false)) {
+                storefront = OfflineStorefront.startFor(testConfig);
+            }
+            suiteStartNanos = System.nanoTime();
+            finishedTests.set(0);
+        }
+    }
 
     @BeforeMethod
-    public void setUp() {
-        config = new ConfigReader();
-        String browser = config.getProperty("browser").toLowerCase();
-        String isHeadless = System.getProperty("headless", config.getProperty("headless_mode"));
-
-        // Check if running in CI/CD
-        boolean isCiCd = Boolean.parseBoolean(System.getenv("CI") != null ? System.getenv("CI") : "false");
-
-        switch (browser) {
-            case "chrome":
-                ChromeOptions chromeOptions = new ChromeOptions();
-
-                if (isCiCd) {
-                    // Use ChromeDriver path from environment/config in CI/CD
-                    String chromeDriverPath = System.getenv("CHROMEDRIVER_PATH");
-                    if (chromeDriverPath == null || chromeDriverPath.isEmpty()) {
-                        chromeDriverPath = config.getProperty("chromedriver_path");
-                    }
-                    System.setProperty("webdriver.chrome.driver", chromeDriverPath);
-                    logger.info("Running in CI/CD mode with ChromeDriver path: {}", chromeDriverPath);
-                } else {
-                    // Use WebDriverManager for local execution
-                    WebDriverManager.chromedriver().setup();
-                    logger.info("Running in local mode with Chromedriver.");
-                }
-
-                if (Boolean.parseBoolean(isHeadless)) {
-                    chromeOptions.addArguments("--headless", "--window-size=1920x1080", "--disable-gpu", "--no-sandbox");
-                } else {
-                    chromeOptions.addArguments("--start-maximized");
-                }
-
-                driver = new ChromeDriver(chromeOptions);
-                break;
-
-            case "safari":
-                driver = new SafariDriver();
-                break;
-
-            case "edge":
-                if (isCiCd) {
-                    String edgeDriverPath = System.getenv("EDGEDRIVER_PATH");
-                    if (edgeDriverPath == null || edgeDriverPath.isEmpty()) {
-                        edgeDriverPath = config.getProperty("edgedriver_path");
-                    }
-                    System.setProperty("webdriver.edge.driver", edgeDriverPath);
-                    logger.info("Running in CI/CD mode with EdgeDriver path: {}", edgeDriverPath);
-                } else {
-                    WebDriverManager.edgedriver().setup();
-                    logger.info("Running in local mode with Edgedriver.");
-                }
-
-                EdgeOptions edgeOptions = new EdgeOptions();
-                if (Boolean.parseBoolean(isHeadless)) {
-                    edgeOptions.addArguments("--headless", "--window-size=1920x1080");
-                }
-                driver = new EdgeDriver(edgeOptions);
-                break;
-
-            default:
-                throw new IllegalArgumentException("Unsupported browser set in config.properties file: " + browser);
-        }
-
-        String testName = this.getClass().getSimpleName();
-        MDC.put("testName", testName);
+    public void setUp(Method method) {
+        String testName = this.getClass().getSimpleName() + "." + method.getName();
+        ThreadContext.put("testName", testName);
+        TestLogs.start(testName);
+
+        WebDriver driver = retrySession.get();
+        if (driver != null) {
+            retrySession.remove();  // TestNG retries on the thread of the failed attempt
+            retrySessions.remove(driver);
+            logger.info("Retrying in the browser session of the failed attempt.");
+        } else if (isDriverPoolEnabled()) {
+            driver = getDriverPool().acquire();
+        } else {
+            driver = createDriver();
+        }
+        NetworkBlocker blocker = NetworkBlocker.apply(driver, getNetworkProfile(method));
+        if (blocker != null) {
+            networkBlocker.set(blocker);
+        }
+        if (isCommandTracingEnabled()) {
+            CommandTracer tracer = new CommandTracer();
+            commandTracer.set(tracer);
+            commandsTraced = true;
+            driver = tracer.decorate(driver);
+        }
+        TestContext.start(driver, testName, isSessionReuseEnabled(method));
+
         System.out.println("\n Test execution started for: " + testName);
-        browserUtil = new BrowserUtil(driver);
-        logger.info("Running tests on browser: {} in {} mode.", browser, Boolean.parseBoolean(isHeadless) ? "Headless" : "Normal");
+        TestConfig testConfig = TestConfig.get();
+        logger.info("Running tests on browser: {} in {} mode.", testConfig.getBrowser(), testConfig.isHeadless() ? "Headless" : "Normal");
     }
 
     @AfterMethod
-    public void tearDown() {
-        if (driver != null) {
-            driver.quit();
-            logStep("Browser teardown complete.");
-            MDC.clear();
+    public void tearDown(ITestResult result) {
+        if (TestContext.isActive()) {
+            WebDriver driver = getDriver();
+            if (driver instanceof WrapsDriver) {
+                driver = ((WrapsDriver) driver).getWrappedDriver();  // The pool tracks the undecorated driver
+            }
+            CommandTracer tracer = commandTracer.get();
+            if (tracer != null) {
+                commandTracer.remove();
+                attachCommandTrace(TestContext.current().getTestName(), tracer.toJson());
+            }
+            NetworkBlocker blocker = networkBlocker.get();
+            if (blocker != null) {
+                networkBlocker.remove();
+                blocker.close();
+                logStep("Network profile blocked " + blocker.getBlockedRequests() + " requests, "
+                        + blocker.getAvoidedBytes() / 1024 + " KB avoided.");
+            }
+            if (isTransientRetry(result) && keepForRetry(driver)) {
+                logStep("Browser session reset and kept for the retry.");
+            } else if (isDriverPoolEnabled()) {
+                getDriverPool().release(driver, !result.isSuccess());
+                logStep("Browser session returned to pool.");
+            } else {
+                driver.quit();
+                logStep("Browser teardown complete.");
+            }
+            TestContext.clear();
+        }
+        TestLogs.attachToReport();  // Only when per-test logging is configured
+        finishedTests.incrementAndGet();
+        ThreadContext.clearMap();
+    }
+
+    /**
+     * @return The WebDriver owned by the test running on the current thread
+     */
+    protected WebDriver getDriver() {
+        return TestContext.driver();
+    }
+
+    /**
+     * @return The BrowserUtil bound to the current thread's WebDriver
+     */
+    protected BrowserUtil getBrowserUtil() {
+        return TestContext.current().getBrowserUtil();
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public void shutDownDriverPool() {
+        synchronized (InitialiseTest.class) {
+            if (driverPool != null) {
+                driverPool.shutdown();
+                driverPool = null;
+            }
+        }
+    }
+
+    /**
+     * Quit sessions kept for a retry that did not take them, e.g. because TestNG ran the retry on another thread.
+     */
+    @AfterSuite(alwaysRun = true)
+    public void quitRetrySessions() {
+        for (WebDriver driver : retrySessions) {
+            try {
+                driver.quit();
+            } catch (WebDriverException e) {
+                logger.warn("Failed to quit browser session kept for a retry: {}", e.getMessage());
+            }
+        }
+        retrySessions.clear();
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public void shutDownBrowserLauncher() {
+        synchronized (InitialiseTest.class) {
+            if (browserLauncher != null) {
+                browserLauncher.shutdown();
+                browserLauncher = null;
+            }
+        }
+    }
+
+    /**
+     * Record the test data seed in the Allure environment, so a failing data combination can be replayed.
+     */
+    @AfterSuite(alwaysRun = true)
+    public void writeTestDataSeed() {
+        Path resultsDirectory = Paths.get(System.getProperty("allure.results.directory", "target/allure-results"));
+        try {
+            TestData.writeSeedTo(resultsDirectory);
+        } catch (IOException e) {
+            logger.error("Failed to record test data seed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Write the requests and bytes the network profiles avoided in the whole suite, if any were blocked.
+     */
+    @AfterSuite(alwaysRun = true)
+    public void writeNetworkProfileSummary() {
+        JSONObject summary = NetworkBlocker.suiteJson();
+        if (summary == null) {
+            return;
+        }
+        Path summaryFile = Paths.get(System.getProperty("user.dir"), "target", "network-profile.json");
+        try {
+            Files.createDirectories(summaryFile.getParent());
+            Files.writeString(summaryFile, summary.toString(2), StandardCharsets.UTF_8);
+            logger.info("Network profile summary written to: {}", summaryFile);
+        } catch (IOException e) {
+            logger.error("Failed to write network profile summary: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Write how long each kind of wait took and how often it polled, to tune timeouts and polling policies.
+     */
+    @AfterSuite(alwaysRun = true)
+    public void writeWaitMetrics() {
+        Path metricsFile = Paths.get(System.getProperty("user.dir"), "target", "wait-metrics.json");
+        try {
+            WaitMetrics.writeTo(metricsFile);
+            logger.info("Wait metrics written to: {}", metricsFile);
+        } catch (IOException e) {
+            logger.error("Failed to write wait metrics: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Stop the offline storefront and write the suite's throughput against it to target/throughput.json,
+     * a reproducible number for comparing framework changes.
+     */
+    @AfterSuite(alwaysRun = true)
+    public void stopOfflineStorefront() {
+        synchronized (InitialiseTest.class) {
+            if (storefront == null) {
+                return;
+            }
+            double seconds = (System.nanoTime() - suiteStartNanos) / 1e9;
+            int tests = finishedTests.get();
+            JSONObject throughput = new JSONObject()
+                    .put("tests", tests)
+                    .put("seconds", seconds)
+                    .put("testsPerMinute", seconds > 0 ? tests * 60 / seconds : 0)
+                    .put("storefrontRequests", storefront.getRequestCount())
+                    .put("storefrontLatencyMillis", TestConfig.get().getDuration("storefront_latency", Duration.ZERO).toMillis());
+            storefront.stop();
+            storefront = null;
+            TestConfig.get().clearOverride("test_url");
+            logger.info("Suite throughput against offline storefront: {}", throughput);
+
+            Path throughputFile = Paths.get(System.getProperty("user.dir"), "target", "throughput.json");
+            try {
+                Files.createDirectories(throughputFile.getParent());
+                Files.writeString(throughputFile, throughput.toString(2), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                logger.error("Failed to write throughput: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Wait for screenshots still queued in the background writer, so none are lost when the JVM exits.
+     */
+    @AfterSuite(alwaysRun = true)
+    public void drainScreenshots() {
+        if (!ScreenshotPipeline.drainIfStarted(Duration.ofSeconds(30))) {
+            logger.warn("Screenshot writer did not finish within 30 seconds, some screenshots may be missing");
+        }
+    }
+
+    /**
+     * Log how many findElement calls the element cache saved and how many stale elements were found again,
+     * and how many logins the session cache saved.
+     */
+    @AfterSuite(alwaysRun = true)
+    public void logElementCacheStats() {
+        logger.info("Element cache: {}", ElementCache.summary());
+        logger.info("Session cache: {}", SessionCache.getInstance().summary());
+    }
+
+    /**
+     * Write the command latencies of all traced tests, if any test was traced.
+     */
+    @AfterSuite(alwaysRun = true)
+    public void writeCommandTraceSummary() {
+        if (commandsTraced) {
+            attachCommandTrace("suite", CommandTracer.suiteJson());
+        }
+    }
+
+    /**
+     * Write command latencies to target/command-traces and attach them to the report.
+     */
+    private void attachCommandTrace(String name, JSONObject trace) {
+        Path traceFile = Paths.get(System.getProperty("user.dir"), "target", "command-traces", name + ".json");
+        try {
+            CommandTracer.writeTo(trace, traceFile);
+            logger.info("Command trace written to: {}", traceFile);
+        } catch (IOException e) {
+            logger.error("Failed to write command trace: {}", e.getMessage());
+        }
+        StepRecorder.attach("Command trace: " + name, "application/json", trace.toString(2).getBytes(StandardCharsets.UTF_8), ".json");
+    }
+
+    /**
+     * Command tracing is enabled with {@code command_tracing_enabled=true}: every WebDriver command is timed
+     * and attributed to the page method and locator key that issued it.
+     */
+    private boolean isCommandTracingEnabled() {
+        return TestConfig.get().getBoolean("command_tracing_enabled", false);
+    }
+
+    /**
+     * Pooled mode is enabled with {@code driver_pool_enabled=true} in config.properties
+     * or {@code -Ddriver_pool_enabled=true} on the command line.
+     */
+    private boolean isDriverPoolEnabled() {
+        return TestConfig.get().getBoolean("driver_pool_enabled", false);
+    }
+
+    /**
+     * The network profile of a test: {@link UseNetworkProfile} on the method, then on the class,
+     * then the suite's {@code network_profile} configuration.
+     */
+    private NetworkProfile getNetworkProfile(Method method) {
+        UseNetworkProfile annotation = method.getAnnotation(UseNetworkProfile.class);
+        if (annotation == null) {
+            annotation = getClass().getAnnotation(UseNetworkProfile.class);
+        }
+        return annotation != null ? NetworkProfile.fromAnnotation(annotation) : NetworkProfile.fromConfig(TestConfig.get());
+    }
+
+    /**
+     * Session reuse is enabled for a test with {@link ReuseSession} on the method or class,
+     * or for all tests with {@code session_reuse_enabled=true}.
+     */
+    private boolean isSessionReuseEnabled(Method method) {
+        return method.isAnnotationPresent(ReuseSession.class)
+                || getClass().isAnnotationPresent(ReuseSession.class)
+                || TestConfig.get().getBoolean("session_reuse_enabled", false);
+    }
+
+    /**
+     * TestNG has already decided to retry the test when {@code @AfterMethod} runs. Only transient failures
+     * keep the browser; after a broken session the retry needs a new one.
+     */
+    private static boolean isTransientRetry(ITestResult result) {
+        return result.wasRetried()
+                && FailureClassifier.classify(result.getThrowable()) == FailureClassifier.FailureType.TRANSIENT;
+    }
+
+    /**
+     * Reset a session to a blank state and hand it to the retry starting next on this thread,
+     * which saves a browser start. Cookies are cleared, so a retry with session reuse logs in again.
+     *
+     * @return False if the session could not be reset and must be released as usual
+     */
+    private static boolean keepForRetry(WebDriver driver) {
+        try {
+            String firstWindow = driver.getWindowHandles().iterator().next();
+            if (!DriverPool.resetState(driver, firstWindow)) {
+                return false;
+            }
+        } catch (WebDriverException e) {
+            return false;
+        }
+        retrySession.set(driver);
+        retrySessions.add(driver);
+        return true;
+    }
+
+    /**
+     * Lazily create the JVM-wide driver pool shared by all test classes.
+     */
+    private DriverPool getDriverPool() {
+        synchronized (InitialiseTest.class) {
+            if (driverPool == null) {
+                TestConfig testConfig = TestConfig.get();
+                driverPool = new DriverPool(
+                        InitialiseTest::createDriver,
+                        testConfig.getInt("driver_pool_size", 2),
+                        testConfig.getInt("driver_pool_max_reuse", 10),
+                        testConfig.getBoolean("driver_pool_health_check", true));
+            }
+            return driverPool;
         }
     }
 
-    @Step("{stepDescription}")
+    /**
+     * Log a message and report it as a step, see {@link StepRecorder}.
+     */
     public void logStep(String stepDescription) {
         logger.info(stepDescription);
+        StepRecorder.log(stepDescription);
     }
 
-    @Attachment(value = "Page Screenshot", type = "image/png")
+    /**
+     * Log a test failure and attach a screenshot of the page to the report.
+     *
+     * @return The screenshot, or null if none could be taken
+     */
     protected byte[] handleTestException(String methodName, Exception e) {
         logger.error("Test failed in method: {}", methodName, e);
-        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
-        String screenshotPath = System.getProperty("user.dir") + "/target/screenshots/" + timestamp + "_screenshot_" + methodName + "-" + "FAILED" + ".png";
+        String testName = TestContext.isActive() ? TestContext.current().getTestName() : methodName;
 
         try {
-            ScreenshotUtil.takeScreenshot(driver, screenshotPath);
-            logger.info("Screenshot saved at: {}", screenshotPath);
-            return Files.readAllBytes(Paths.get(screenshotPath));
+            // Captured once; the same bytes go to the report while the file is written in the background
+            byte[] screenshot = ScreenshotPipeline.getInstance().capture(getDriver(), testName + "-FAILED");
+            if (screenshot.length > 0) {
+                StepRecorder.attach("Page Screenshot", "image/png", screenshot, ".png");
+                return screenshot;
+            }
         } catch (Exception screenshotException) {
             logger.error("Failed to capture screenshot: {}", screenshotException.getMessage());
         }
@@ -1,25 +1,17 @@
 package utils;
 
 //A helper class with commonly used methods, such as generating random data.
-
-import java.util.Random;
+//Values come from the current thread's seeded stream, see TestData.
 
 public class JavaHelper {
 
     // Generate random string
     public static String generateRandomString(int length) {
-        String characters = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
-        StringBuilder result = new StringBuilder();
-        Random random = new Random();
-        for (int i = 0; i < length; i++) {
-            result.append(characters.charAt(random.nextInt(characters.length())));
-        }
-        return result.toString();
+        return DataGenerators.alphanumeric(TestData.random(), length);
     }
 
     // Generate random number
     public static int generateRandomNumber(int bound) {
-        Random random = new Random();
-        return random.nextInt(bound);
+        return TestData.random().nextInt(bound);
     }
 }
@@ -0,0 +1,91 @@
+package utils;
+
+import org.json.JSONObject;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with logarithmic buckets.
+ * <p>
+ * Values are recorded in microseconds. Each power of two is split into 8 linear sub-buckets, so a percentile
+ * is reported within 12.5% of the recorded value while the whole histogram stays a fixed array of counters:
+ * recording is one index computation and three atomic adds, with no allocation.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = 64 * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param nanos Duration of one call
+     */
+    public void record(long nanos) {
+        long micros = Math.max(nanos / 1_000, 0);
+        counts.incrementAndGet(bucket(micros));
+        count.increment();
+        totalMicros.add(micros);
+        maxMicros.accumulate(micros);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @param percentile Percentile between 0 and 100
+     * @return Approximate value at the percentile in microseconds, the middle of its bucket
+     */
+    public long percentileMicros(double percentile) {
+        long total = count.sum();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= rank) {
+                return Math.min(middle(bucket), maxMicros.get());
+            }
+        }
+        return maxMicros.get();
+    }
+
+    /**
+     * @return Count, total, p50/p95/p99 and max in milliseconds
+     */
+    public JSONObject toJson() {
+        return new JSONObject()
+                .put("count", getCount())
+                .put("totalMillis", totalMicros.sum() / 1_000.0)
+                .put("p50Millis", percentileMicros(50) / 1_000.0)
+                .put("p95Millis", percentileMicros(95) / 1_000.0)
+                .put("p99Millis", percentileMicros(99) / 1_000.0)
+                .put("maxMillis", maxMicros.get() / 1_000.0);
+    }
+
+    private static int bucket(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;  // Exact for the smallest values
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((micros >> shift) & (SUB_BUCKETS - 1));
+    }
+
+    private static long middle(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lower + ((1L << shift) >> 1);
+    }
+}
@@ -0,0 +1,57 @@
+package utils;
+
+import org.openqa.selenium.By;
+
+import java.util.Objects;
+
+/**
+ * A precompiled locator together with the key it has in the page's JSON file.
+ * Constants of this type are generated at build time into {@code pageobjects.locators}
+ * from {@code src/test/resources/locators/*.json}.
+ */
+public final class Locator {
+
+    private final String key;
+    private final By by;
+
+    public Locator(String key, By by) {
+        this.key = key;
+        this.by = by;
+    }
+
+    /**
+     * @return The key identifying the locator in JSON, used for logging
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return The compiled Selenium locator
+     */
+    public By getBy() {
+        return by;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Locator)) {
+            return false;
+        }
+        Locator locator = (Locator) other;
+        return key.equals(locator.key) && by.equals(locator.by);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(key, by);
+    }
+
+    @Override
+    public String toString() {
+        return key;
+    }
+}
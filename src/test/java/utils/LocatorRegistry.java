@@ -0,0 +1,160 @@
+package utils;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.openqa.selenium.By;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Process-wide registry of all page locators.
+ * <p>
+ * Every {@code locators/*.json} file on the classpath is parsed once, the first time the registry is used,
+ * and each entry is compiled into a {@link By}. The resulting maps are immutable and shared by all threads.
+ * Invalid files (duplicate keys, unknown locator types, malformed JSON) fail the load instead of failing
+ * a test halfway through.
+ * <p>
+ * Besides "type" and "value", an entry may carry boolean flags such as {@code "visualIgnore": true};
+ * {@link #flaggedKeys(String, String)} returns the keys of a page that have a flag set.
+ */
+public final class LocatorRegistry {
+
+    private static final String LOCATOR_DIRECTORY = "locators";
+
+    private final Map<String, Map<String, By>> pages;
+    private final Map<String, Map<String, Set<String>>> flags;  // Page -> flag -> keys with the flag set
+
+    private LocatorRegistry(Map<String, Map<String, By>> pages, Map<String, Map<String, Set<String>>> flags) {
+        this.pages = Map.copyOf(pages);
+        this.flags = Map.copyOf(flags);
+    }
+
+    private static class Holder {
+        private static final LocatorRegistry INSTANCE = load();
+    }
+
+    /**
+     * @return The shared registry, loading all locator files on first use
+     */
+    public static LocatorRegistry getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Get the compiled locators of a page.
+     *
+     * @param fileName Locator file name, e.g. "LoginPage.json"
+     * @return Immutable map of locator key to By
+     * @throws IllegalArgumentException if no such locator file was loaded
+     */
+    public Map<String, By> forPage(String fileName) {
+        Map<String, By> locators = pages.get(fileName);
+        if (locators == null) {
+            throw new IllegalArgumentException("Locator file not found: " + LOCATOR_DIRECTORY + "/" + fileName);
+        }
+        return locators;
+    }
+
+    /**
+     * Get the keys of a page whose entries set a boolean flag to true.
+     *
+     * @param fileName Locator file name, e.g. "InventoryPage.json"
+     * @param flag     Flag name, e.g. "visualIgnore"
+     * @return Immutable set of locator keys, empty if none has the flag
+     * @throws IllegalArgumentException if no such locator file was loaded
+     */
+    public Set<String> flaggedKeys(String fileName, String flag) {
+        forPage(fileName);  // Fails for unknown files
+        return flags.getOrDefault(fileName, Map.of()).getOrDefault(flag, Set.of());
+    }
+
+    /**
+     * @return Number of locator files loaded
+     */
+    public int size() {
+        return pages.size();
+    }
+
+    private static LocatorRegistry load() {
+        URL directory = LocatorRegistry.class.getClassLoader().getResource(LOCATOR_DIRECTORY);
+        if (directory == null) {
+            throw new IllegalStateException("Locator directory not found on classpath: " + LOCATOR_DIRECTORY);
+        }
+
+        try {
+            URI uri = directory.toURI();
+            if ("jar".equals(uri.getScheme())) {
+                try (FileSystem fileSystem = FileSystems.newFileSystem(uri, Map.of())) {
+                    return load(fileSystem.getPath("/" + LOCATOR_DIRECTORY));
+                }
+            }
+            return load(Path.of(uri));
+        } catch (IOException | URISyntaxException e) {
+            throw new IllegalStateException("Failed to load locator files from: " + directory, e);
+        }
+    }
+
+    private static LocatorRegistry load(Path directory) throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream.filter(path -> path.getFileName().toString().endsWith(".json"))
+                    .collect(Collectors.toList());
+        }
+
+        Map<String, Map<String, By>> pages = new HashMap<>();
+        Map<String, Map<String, Set<String>>> flags = new HashMap<>();
+        for (Path file : files) {
+            String fileName = file.getFileName().toString();
+            JSONObject json = parse(fileName, Files.readString(file, StandardCharsets.UTF_8));
+            pages.put(fileName, compile(fileName, json));
+            flags.put(fileName, collectFlags(json));
+        }
+        return new LocatorRegistry(pages, flags);
+    }
+
+    private static JSONObject parse(String fileName, String content) {
+        try {
+            // JSONObject rejects duplicate keys while parsing
+            return new JSONObject(content);
+        } catch (JSONException e) {
+            throw new IllegalStateException("Invalid locator file " + LOCATOR_DIRECTORY + "/" + fileName + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static Map<String, Set<String>> collectFlags(JSONObject json) {
+        Map<String, Set<String>> flags = new HashMap<>();
+        for (String key : json.keySet()) {
+            JSONObject entry = json.getJSONObject(key);
+            for (String property : entry.keySet()) {
+                if (Boolean.TRUE.equals(entry.opt(property))) {
+                    flags.computeIfAbsent(property, flag -> new HashSet<>()).add(key);
+                }
+            }
+        }
+        flags.replaceAll((flag, keys) -> Set.copyOf(keys));
+        return Map.copyOf(flags);
+    }
+
+    private static Map<String, By> compile(String fileName, JSONObject json) {
+        try {
+            return LocatorUtil.compile(json);
+        } catch (JSONException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid locator file " + LOCATOR_DIRECTORY + "/" + fileName + ": " + e.getMessage(), e);
+        }
+    }
+}
@@ -3,32 +3,60 @@ package utils;
 import org.json.JSONObject;
 import org.openqa.selenium.By;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public class LocatorUtil {
-    private JSONObject locators;
+    private final Map<String, By> locators;
 
-    public LocatorUtil(JSONObject locators) {
+    /**
+     * Create a locator utility over locators that are already compiled, e.g. from the LocatorRegistry.
+     *
+     * @param locators Map of locator key to By.
+     */
+    public LocatorUtil(Map<String, By> locators) {
         this.locators = locators;
     }
 
     /**
-     * Retrieves the locator by extracting its type and value from JSON.
+     * Create a locator utility from raw JSON. All entries are compiled up front.
+     *
+     * @param locators JSON object of locator key to {"type": ..., "value": ...}.
+     */
+    public LocatorUtil(JSONObject locators) {
+        this(compile(locators));
+    }
+
+    /**
+     * Retrieves the precompiled locator for a key.
      *
      * @param key The key identifying the locator in JSON.
      * @return A By object representing the locator.
      */
     public By getLocator(String key) {
-        if (!locators.has(key)) {
+        By locator = locators.get(key);
+        if (locator == null) {
             throw new IllegalArgumentException("Locator key not found in JSON: " + key);
         }
+        return locator;
+    }
 
-        JSONObject locatorData = locators.getJSONObject(key);
-        String locatorType = locatorData.getString("type");
-        String locatorValue = locatorData.getString("value");
-
-        return getBy(locatorType, locatorValue);
+    /**
+     * Compile every entry of a locator JSON object into a By.
+     *
+     * @param json JSON object of locator key to {"type": ..., "value": ...}.
+     * @return Immutable map of locator key to By.
+     */
+    public static Map<String, By> compile(JSONObject json) {
+        Map<String, By> compiled = new HashMap<>();
+        for (String key : json.keySet()) {
+            JSONObject locatorData = json.getJSONObject(key);
+            compiled.put(key, getBy(locatorData.getString("type"), locatorData.getString("value")));
+        }
+        return Map.copyOf(compiled);
     }
 
-    private By getBy(String type, String value) {
+    private static By getBy(String type, String value) {
         switch (type.toLowerCase()) {
             case "id": return By.id(value);
             case "name": return By.name(value);
@@ -41,4 +69,4 @@ public class LocatorUtil {
             default: throw new IllegalArgumentException("Unsupported locator type: " + type);
         }
     }
-}
\ No newline at end of file
+}
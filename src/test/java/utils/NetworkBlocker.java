@@ -0,0 +1,181 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONObject;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Applies a {@link NetworkProfile} to one Chromium session through the DevTools protocol and counts what it avoided.
+ * <p>
+ * URL patterns go to {@code Network.setBlockedURLs}, so those requests are never sent. Resource types are
+ * intercepted with the Fetch domain when the response headers arrive and failed before the body is downloaded,
+ * which lets the blocker report the avoided bytes from {@code Content-Length}; requests blocked by URL count
+ * without bytes. Raw CDP commands are used so any Chrome or Edge version works with this Selenium release.
+ * <p>
+ * {@link #close()} removes the blocking again, so pooled sessions start the next test unrestricted.
+ */
+public final class NetworkBlocker implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(NetworkBlocker.class);
+
+    private static final LongAdder suiteBlockedRequests = new LongAdder();
+    private static final LongAdder suiteAvoidedBytes = new LongAdder();
+
+    private static final String URL_BLOCKED_REASON = "inspector";  // blockedReason of Network.setBlockedURLs
+
+    private final DevTools devTools;
+    private final NetworkProfile profile;
+    private final LongAdder blockedRequests = new LongAdder();
+    private final LongAdder avoidedBytes = new LongAdder();
+
+    private NetworkBlocker(DevTools devTools, NetworkProfile profile) {
+        this.devTools = devTools;
+        this.profile = profile;
+    }
+
+    /**
+     * Start blocking the profile's resources in a session.
+     *
+     * @param driver  Undecorated driver of the session
+     * @param profile Resources to block
+     * @return The blocker to close when the test ends, or null if the profile is empty or the browser has no DevTools
+     */
+    public static NetworkBlocker apply(WebDriver driver, NetworkProfile profile) {
+        if (profile.isEmpty()) {
+            return null;
+        }
+        if (!(driver instanceof HasDevTools)) {
+            logger.warn("Network profile {} ignored, {} does not support DevTools.", profile.getName(), driver.getClass().getSimpleName());
+            return null;
+        }
+        DevTools devTools = ((HasDevTools) driver).getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+        NetworkBlocker blocker = new NetworkBlocker(devTools, profile);
+        blocker.start();
+        return blocker;
+    }
+
+    private void start() {
+        if (!profile.getUrlPatterns().isEmpty()) {
+            devTools.addListener(new Event<Map<String, Object>>("Network.loadingFailed", input -> input.read(Json.MAP_TYPE)),
+                    this::onLoadingFailed);
+            devTools.send(new Command<>("Network.enable", Map.of()));
+            devTools.send(new Command<>("Network.setBlockedURLs", Map.of("urls", profile.getUrlPatterns())));
+        }
+        if (!profile.getResourceTypes().isEmpty()) {
+            List<Map<String, Object>> patterns = new ArrayList<>();
+            for (String type : profile.getResourceTypes()) {
+                patterns.add(Map.of("resourceType", type, "requestStage", "Response"));
+            }
+            devTools.addListener(new Event<Map<String, Object>>("Fetch.requestPaused", input -> input.read(Json.MAP_TYPE)),
+                    this::onRequestPaused);
+            devTools.send(new Command<>("Fetch.enable", Map.of("patterns", patterns)));
+        }
+        logger.debug("Network profile applied: {}", profile);
+    }
+
+    private void onLoadingFailed(Map<String, Object> params) {
+        if (URL_BLOCKED_REASON.equals(params.get("blockedReason"))) {
+            count(0);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onRequestPaused(Map<String, Object> params) {
+        String requestId = (String) params.get("requestId");
+        Number status = (Number) params.get("responseStatusCode");
+        try {
+            if (status != null && status.intValue() >= 300 && status.intValue() < 400) {
+                devTools.send(new Command<>("Fetch.continueRequest", Map.of("requestId", requestId)));  // Follow redirects
+                return;
+            }
+            devTools.send(new Command<>("Fetch.failRequest", Map.of("requestId", requestId, "errorReason", "BlockedByClient")));
+            count(contentLength((List<Map<String, Object>>) params.get("responseHeaders")));
+        } catch (WebDriverException e) {
+            logger.debug("Could not block paused request {}: {}", requestId, e.getMessage());  // Page already navigated away
+        }
+    }
+
+    private static long contentLength(List<Map<String, Object>> headers) {
+        if (headers != null) {
+            for (Map<String, Object> header : headers) {
+                if ("content-length".equalsIgnoreCase(String.valueOf(header.get("name")))) {
+                    try {
+                        return Long.parseLong(String.valueOf(header.get("value")).trim());
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                }
+            }
+        }
+        return 0;  // Chunked responses have no length
+    }
+
+    private void count(long bytes) {
+        blockedRequests.increment();
+        avoidedBytes.add(bytes);
+        suiteBlockedRequests.increment();
+        suiteAvoidedBytes.add(bytes);
+    }
+
+    public long getBlockedRequests() {
+        return blockedRequests.sum();
+    }
+
+    public long getAvoidedBytes() {
+        return avoidedBytes.sum();
+    }
+
+    /**
+     * @return Profile name and this session's blocked requests and avoided bytes
+     */
+    public JSONObject toJson() {
+        return new JSONObject()
+                .put("profile", profile.getName())
+                .put("blockedRequests", getBlockedRequests())
+                .put("avoidedBytes", getAvoidedBytes());
+    }
+
+    /**
+     * @return Blocked requests and avoided bytes of all sessions, or null if nothing was blocked
+     */
+    public static JSONObject suiteJson() {
+        if (suiteBlockedRequests.sum() == 0) {
+            return null;
+        }
+        return new JSONObject()
+                .put("blockedRequests", suiteBlockedRequests.sum())
+                .put("avoidedBytes", suiteAvoidedBytes.sum());
+    }
+
+    /**
+     * Stop blocking and intercepting in the session.
+     */
+    @Override
+    public void close() {
+        try {
+            devTools.clearListeners();
+            if (!profile.getResourceTypes().isEmpty()) {
+                devTools.send(new Command<>("Fetch.disable", Map.of()));
+            }
+            if (!profile.getUrlPatterns().isEmpty()) {
+                devTools.send(new Command<>("Network.setBlockedURLs", Map.of("urls", List.of())));
+                devTools.send(new Command<>("Network.disable", Map.of()));
+            }
+        } catch (WebDriverException e) {
+            logger.warn("Failed to remove network profile {}: {}", profile.getName(), e.getMessage());
+        }
+    }
+}
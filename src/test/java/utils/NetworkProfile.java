@@ -0,0 +1,140 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Resources a browser session does not load: CDP resource types (e.g. "Image", "Font") and URL patterns
+ * (e.g. "*google-analytics.com*", with {@code *} as wildcard).
+ * <p>
+ * Chosen per suite with {@code network_profile}, {@code network_blocked_types} and {@code network_blocked_urls},
+ * or per test class or method with {@link UseNetworkProfile}. Applied to a session by {@link NetworkBlocker}.
+ */
+public final class NetworkProfile {
+
+    public static final NetworkProfile NONE = new NetworkProfile("none", List.of(), List.of());
+
+    /**
+     * Everything a functional assertion does not look at: images, fonts, media and common tracking scripts.
+     * Stylesheets stay, since visibility checks depend on them. Visual checkpoints need {@link #NONE}.
+     */
+    public static final NetworkProfile FUNCTIONAL_ONLY = new NetworkProfile("functional-only",
+            List.of("Image", "Font", "Media", "Ping", "Manifest"),
+            List.of("*google-analytics.com*", "*googletagmanager.com*", "*doubleclick.net*", "*facebook.net*",
+                    "*hotjar.com*", "*segment.io*", "*optimizely.com*", "*newrelic.com*", "*nr-data.net*",
+                    "*sentry.io*", "*backtrace.io*"));
+
+    /** Resource types of the CDP Network domain, by lower-case name. */
+    private static final List<String> RESOURCE_TYPES = List.of(
+            "Document", "Stylesheet", "Image", "Media", "Font", "Script", "TextTrack", "XHR", "Fetch",
+            "Prefetch", "EventSource", "WebSocket", "Manifest", "SignedExchange", "Ping", "CSPViolationReport",
+            "Preflight", "Other");
+
+    private final String name;
+    private final List<String> resourceTypes;
+    private final List<String> urlPatterns;
+
+    private NetworkProfile(String name, List<String> resourceTypes, List<String> urlPatterns) {
+        this.name = name;
+        this.resourceTypes = List.copyOf(resourceTypes);
+        this.urlPatterns = List.copyOf(urlPatterns);
+    }
+
+    /**
+     * @param name "none" or "functional-only"
+     * @return The preset with that name
+     * @throws IllegalArgumentException if there is no such preset
+     */
+    public static NetworkProfile preset(String name) {
+        switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "none":
+                return NONE;
+            case "functional-only":
+                return FUNCTIONAL_ONLY;
+            default:
+                throw new IllegalArgumentException("Unknown network profile: " + name + " (expected none or functional-only)");
+        }
+    }
+
+    /**
+     * @return The suite's profile: the {@code network_profile} preset plus any extra types and URL patterns
+     */
+    public static NetworkProfile fromConfig(TestConfig config) {
+        return preset(config.getString("network_profile", "none"))
+                .with(split(config.getString("network_blocked_types", "")), split(config.getString("network_blocked_urls", "")));
+    }
+
+    /**
+     * @return The profile of a test annotated with {@link UseNetworkProfile}
+     */
+    public static NetworkProfile fromAnnotation(UseNetworkProfile annotation) {
+        return preset(annotation.value()).with(Arrays.asList(annotation.types()), Arrays.asList(annotation.urls()));
+    }
+
+    /**
+     * @param resourceTypes Additional CDP resource types to block, case-insensitive
+     * @param urlPatterns   Additional URL patterns to block
+     * @return A profile blocking everything this one does and the given resources
+     * @throws IllegalArgumentException if a resource type is unknown
+     */
+    public NetworkProfile with(List<String> resourceTypes, List<String> urlPatterns) {
+        if (resourceTypes.isEmpty() && urlPatterns.isEmpty()) {
+            return this;
+        }
+        Set<String> types = new LinkedHashSet<>(this.resourceTypes);
+        for (String type : resourceTypes) {
+            types.add(resourceType(type));
+        }
+        Set<String> urls = new LinkedHashSet<>(this.urlPatterns);
+        urls.addAll(urlPatterns);
+        return new NetworkProfile(name + "+custom", new ArrayList<>(types), new ArrayList<>(urls));
+    }
+
+    public boolean isEmpty() {
+        return resourceTypes.isEmpty() && urlPatterns.isEmpty();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getResourceTypes() {
+        return resourceTypes;
+    }
+
+    public List<String> getUrlPatterns() {
+        return urlPatterns;
+    }
+
+    @Override
+    public String toString() {
+        return name + " " + resourceTypes + " " + urlPatterns;
+    }
+
+    private static String resourceType(String value) {
+        for (String type : RESOURCE_TYPES) {
+            if (type.equalsIgnoreCase(value.trim())) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown CDP resource type: " + value + ", expected one of " + RESOURCE_TYPES);
+    }
+
+    private static List<String> split(String value) {
+        if (value.isBlank()) {
+            return Collections.emptyList();
+        }
+        List<String> parts = new ArrayList<>();
+        for (String part : value.split(",")) {
+            if (!part.isBlank()) {
+                parts.add(part.trim());
+            }
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,226 @@
+package utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local stand-in of the Sauce Demo storefront for network-free runs, served by the JDK HttpServer.
+ * <p>
+ * Pages are static fixtures under {@code src/test/resources/storefront} that carry the same {@code data-test}
+ * attributes as the locator files. The login form posts to the server, which checks the configured
+ * {@code username}/{@code password} and sets the {@code session-username} cookie like the real site; the other
+ * pages redirect to the login page without it. Cart state lives in localStorage and the summary applies 8% tax,
+ * so the bike light checkout totals $10.79 as on the live site.
+ * <p>
+ * Every response can be delayed by {@code storefront_latency} to model a remote server reproducibly.
+ */
+public class OfflineStorefront {
+
+    private static final Logger logger = LogManager.getLogger(OfflineStorefront.class);
+
+    private static final String FIXTURE_DIRECTORY = "storefront/";
+    private static final String SESSION_COOKIE = "session-username";
+    private static final String DEFAULT_USERNAME = "standard_user";
+    private static final String DEFAULT_PASSWORD = "secret_sauce";
+
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "html", "text/html; charset=utf-8",
+            "js", "application/javascript; charset=utf-8",
+            "css", "text/css; charset=utf-8");
+
+    /** Pages that can be opened without logging in. */
+    private static final List<String> PUBLIC_PAGES = List.of("index.html", "storefront.js", "storefront.css");
+
+    private final String username;
+    private final String password;
+    private final Duration latency;
+    private final Map<String, byte[]> fixtures = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * @param username Username the login form accepts
+     * @param password Password the login form accepts
+     * @param latency  Delay added to every response
+     */
+    public OfflineStorefront(String username, String password, Duration latency) {
+        this.username = username;
+        this.password = password;
+        this.latency = latency;
+    }
+
+    /**
+     * Start the storefront and point {@code test_url} at it. Credentials that are not configured default
+     * to the storefront's standard user.
+     *
+     * @param config Configuration to read the storefront settings from and to override
+     * @return The started storefront
+     */
+    public static OfflineStorefront startFor(TestConfig config) {
+        if (config.getString("username") == null) {
+            config.override("username", DEFAULT_USERNAME);
+        }
+        if (config.getString("password") == null) {
+            config.override("password", DEFAULT_PASSWORD);
+        }
+        OfflineStorefront storefront = new OfflineStorefront(
+                config.getRequiredString("username"),
+                config.getRequiredString("password"),
+                config.getDuration("storefront_latency", Duration.ZERO));
+        storefront.start(config.getInt("storefront_port", 0));
+        config.override("test_url", storefront.getUrl());
+        return storefront;
+    }
+
+    /**
+     * @param port Port to listen on, 0 for any free port
+     */
+    public void start(int port) {
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to start offline storefront on port " + port, e);
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "storefront-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);  // Parallel browsers are served concurrently, also while latency is injected
+        server.createContext("/", this::handle);
+        server.start();
+        logger.info("Offline storefront started at {} with {} ms latency", getUrl(), latency.toMillis());
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            logger.info("Offline storefront stopped after {} requests", getRequestCount());
+            server = null;
+        }
+    }
+
+    /**
+     * @return The storefront's base URL, ending with a slash
+     */
+    public String getUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/";
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.increment();
+        try (exchange) {
+            if (!latency.isZero()) {
+                TimeUnit.NANOSECONDS.sleep(latency.toNanos());
+            }
+            String path = exchange.getRequestURI().getPath().substring(1);
+            if (path.isEmpty()) {
+                path = "index.html";
+            }
+
+            if (path.equals("login") && exchange.getRequestMethod().equals("POST")) {
+                login(exchange);
+            } else if (!PUBLIC_PAGES.contains(path) && !hasSession(exchange)) {
+                redirect(exchange, "/");
+            } else {
+                serve(exchange, path);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void login(HttpExchange exchange) throws IOException {
+        Map<String, String> form = parseForm(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        if (username.equals(form.get("user-name")) && password.equals(form.get("password"))) {
+            exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=" + username + "; Path=/");
+            redirect(exchange, "/inventory.html");
+        } else {
+            redirect(exchange, "/?error=1");
+        }
+    }
+
+    private static boolean hasSession(HttpExchange exchange) {
+        List<String> cookies = exchange.getRequestHeaders().get("Cookie");
+        return cookies != null && cookies.stream().anyMatch(cookie -> cookie.contains(SESSION_COOKIE + "="));
+    }
+
+    private void serve(HttpExchange exchange, String path) throws IOException {
+        byte[] content = fixture(path);
+        if (content == null) {
+            exchange.sendResponseHeaders(404, -1);
+            return;
+        }
+        String extension = path.substring(path.lastIndexOf('.') + 1);
+        exchange.getResponseHeaders().add("Content-Type", CONTENT_TYPES.getOrDefault(extension, "application/octet-stream"));
+        exchange.getResponseHeaders().add("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(200, content.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(content);
+        }
+    }
+
+    /**
+     * @return The fixture's bytes, read from the classpath once, or null if there is no such fixture
+     */
+    private byte[] fixture(String path) throws IOException {
+        if (path.contains("..") || path.contains("/")) {
+            return null;
+        }
+        byte[] content = fixtures.get(path);
+        if (content == null) {
+            try (InputStream input = OfflineStorefront.class.getClassLoader().getResourceAsStream(FIXTURE_DIRECTORY + path)) {
+                if (input == null) {
+                    return null;
+                }
+                content = input.readAllBytes();
+            }
+            fixtures.put(path, content);
+        }
+        return content;
+    }
+
+    private static void redirect(HttpExchange exchange, String location) throws IOException {
+        exchange.getResponseHeaders().add("Location", location);
+        exchange.sendResponseHeaders(302, -1);
+    }
+
+    private static Map<String, String> parseForm(String body) {
+        Map<String, String> form = new HashMap<>();
+        for (String pair : body.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                form.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return form;
+    }
+}
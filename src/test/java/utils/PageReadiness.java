@@ -0,0 +1,90 @@
+package utils;
+
+import org.openqa.selenium.By;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * When a page counts as usable after a navigation: a document ready state plus elements that must be present.
+ * <p>
+ * With the EAGER or NONE page load strategy {@code driver.get()} returns before the page has fully loaded;
+ * {@link BrowserUtil#navigateTo(String, PageReadiness)} then waits for this condition instead, e.g.
+ * <pre>
+ * getBrowserUtil().navigateTo(url, PageReadiness.forPage("LoginPage.json"));
+ * </pre>
+ */
+public final class PageReadiness {
+
+    /** The flag marking the locator entries a page needs before it is usable, e.g. {@code "ready": true}. */
+    public static final String READY_FLAG = "ready";
+
+    /** The document has been parsed and scripts have run; images and stylesheets may still be loading. */
+    public static final PageReadiness DOM_INTERACTIVE = new PageReadiness(false, List.of(), "DOM interactive");
+
+    /** The load event has fired, as under the NORMAL page load strategy. */
+    public static final PageReadiness LOAD_COMPLETE = new PageReadiness(true, List.of(), "load complete");
+
+    private final boolean loadComplete;
+    private final List<By> presentElements;
+    private final String description;
+
+    private PageReadiness(boolean loadComplete, List<By> presentElements, String description) {
+        this.loadComplete = loadComplete;
+        this.presentElements = List.copyOf(presentElements);
+        this.description = description;
+    }
+
+    /**
+     * DOM interactive plus presence of the page's locators flagged {@code "ready": true} in its JSON file.
+     *
+     * @param fileName Locator file name, e.g. "LoginPage.json"
+     * @return The page's readiness condition, DOM interactive alone if no locator is flagged
+     * @throws IllegalArgumentException if no such locator file was loaded
+     */
+    public static PageReadiness forPage(String fileName) {
+        LocatorRegistry registry = LocatorRegistry.getInstance();
+        Map<String, By> locators = registry.forPage(fileName);
+        PageReadiness readiness = DOM_INTERACTIVE;
+        for (String key : registry.flaggedKeys(fileName, READY_FLAG)) {
+            readiness = readiness.andPresent(locators.get(key), fileName.replace(".json", "") + "." + key);
+        }
+        return readiness;
+    }
+
+    /**
+     * @param locator Element that must also be present
+     * @return A condition that additionally waits for the element
+     */
+    public PageReadiness andPresent(Locator locator) {
+        return andPresent(locator.getBy(), locator.getKey());
+    }
+
+    private PageReadiness andPresent(By locator, String name) {
+        List<By> elements = new ArrayList<>(presentElements);
+        elements.add(locator);
+        return new PageReadiness(loadComplete, elements, description + " + " + name);
+    }
+
+    /**
+     * Wait until the condition holds in the current page.
+     *
+     * @param waitUtil Waits of the driver that navigated
+     */
+    public void await(WaitUtil waitUtil) {
+        if (loadComplete) {
+            waitUtil.waitForPageLoad();
+        } else {
+            waitUtil.waitForDomInteractive();
+        }
+        for (By element : presentElements) {
+            waitUtil.waitForElementToBePresent(element);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
@@ -0,0 +1,40 @@
+package utils;
+
+import org.testng.IAlterSuiteListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * Sizes the TestNG thread pool before the suite starts.
+ * <p>
+ * The thread count defaults to the number of available cores and can be overridden with
+ * {@code -Dthreads=N}. The parallel mode from testng.xml can be overridden with
+ * {@code -Dparallel=methods|instances|classes|tests|none}. With {@code -Dvirtual.threads=true} each test method
+ * runs on its own virtual thread instead, limited by {@code remote_capacity}, see {@link VirtualThreadExecutorFactory}.
+ * Registered in testng.xml, since suite-altering listeners cannot be added with {@code @Listeners}.
+ */
+public class ParallelSuiteListener implements IAlterSuiteListener, ISuiteListener {
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        int threadCount = Integer.getInteger("threads", Runtime.getRuntime().availableProcessors());
+        String parallel = System.getProperty("parallel");
+
+        for (XmlSuite suite : suites) {
+            suite.setThreadCount(threadCount);
+            if (parallel != null && !parallel.isEmpty()) {
+                suite.setParallel(XmlSuite.ParallelMode.getValidParallel(parallel));
+            }
+        }
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (Boolean.getBoolean("virtual.threads")) {
+            VirtualThreadExecutorFactory.install(suite.getXmlSuite());
+        }
+    }
+}
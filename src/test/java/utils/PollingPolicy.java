@@ -0,0 +1,149 @@
+package utils;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Decides how long a wait sleeps between two checks of its condition.
+ * <p>
+ * Policies are immutable and can be shared by all waits. They are configured globally with the
+ * {@code wait_polling} key (see {@link #parse(String)}) or per call with {@link WaitUtil#withPolling(PollingPolicy)}.
+ */
+public interface PollingPolicy {
+
+    /**
+     * @param pollCount Number of times the condition has been checked so far (1 after the first check)
+     * @return Time to sleep before the next check
+     */
+    Duration nextInterval(int pollCount);
+
+    /**
+     * Poll at the same interval every time, like WebDriverWait.
+     */
+    static PollingPolicy fixed(Duration interval) {
+        return new Fixed(interval);
+    }
+
+    /**
+     * Start with {@code initial} and multiply the interval by {@code multiplier} after every poll, up to {@code max}.
+     */
+    static PollingPolicy exponentialBackoff(Duration initial, double multiplier, Duration max) {
+        return new Backoff(null, initial, multiplier, max);
+    }
+
+    /**
+     * Check again almost immediately once, then back off from {@code initial} up to {@code max}.
+     * Suits conditions that are usually met within a few milliseconds of the first check.
+     */
+    static PollingPolicy fastFirstThenBackoff(Duration first, Duration initial, double multiplier, Duration max) {
+        return new Backoff(first, initial, multiplier, max);
+    }
+
+    /**
+     * Parse a policy specification:
+     * <ul>
+     *     <li>{@code fixed:500ms}</li>
+     *     <li>{@code backoff:50ms,2,500ms} (initial, multiplier, cap)</li>
+     *     <li>{@code fast-first:10ms,50ms,2,1s} (first, initial, multiplier, cap)</li>
+     * </ul>
+     * Durations accept "ms" and "s" suffixes.
+     *
+     * @param spec Policy specification
+     * @return The parsed policy
+     * @throws IllegalArgumentException if the specification is malformed
+     */
+    static PollingPolicy parse(String spec) {
+        String[] parts = spec.trim().toLowerCase(Locale.ROOT).split(":", 2);
+        String[] args = parts.length > 1 ? parts[1].split(",") : new String[0];
+        try {
+            switch (parts[0]) {
+                case "fixed":
+                    if (args.length == 1) {
+                        return fixed(parseDuration(args[0]));
+                    }
+                    break;
+                case "backoff":
+                    if (args.length == 3) {
+                        return exponentialBackoff(parseDuration(args[0]), Double.parseDouble(args[1].trim()), parseDuration(args[2]));
+                    }
+                    break;
+                case "fast-first":
+                    if (args.length == 4) {
+                        return fastFirstThenBackoff(parseDuration(args[0]), parseDuration(args[1]),
+                                Double.parseDouble(args[2].trim()), parseDuration(args[3]));
+                    }
+                    break;
+                default:
+                    break;
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid polling policy: " + spec, e);
+        }
+        throw new IllegalArgumentException("Invalid polling policy (expected fixed:<d>, backoff:<d>,<m>,<d> or fast-first:<d>,<d>,<m>,<d>): " + spec);
+    }
+
+    private static Duration parseDuration(String value) {
+        String normalized = value.trim();
+        if (normalized.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(normalized.substring(0, normalized.length() - 2)));
+        }
+        if (normalized.endsWith("s")) {
+            return Duration.ofMillis(Math.round(Double.parseDouble(normalized.substring(0, normalized.length() - 1)) * 1000));
+        }
+        return Duration.ofMillis(Long.parseLong(normalized));
+    }
+
+    final class Fixed implements PollingPolicy {
+        private final Duration interval;
+
+        private Fixed(Duration interval) {
+            this.interval = interval;
+        }
+
+        @Override
+        public Duration nextInterval(int pollCount) {
+            return interval;
+        }
+
+        @Override
+        public String toString() {
+            return "fixed:" + interval.toMillis() + "ms";
+        }
+    }
+
+    final class Backoff implements PollingPolicy {
+        private final Duration first;  // Null when there is no separate fast first poll
+        private final long initialMillis;
+        private final double multiplier;
+        private final long maxMillis;
+
+        private Backoff(Duration first, Duration initial, double multiplier, Duration max) {
+            if (multiplier < 1.0) {
+                throw new IllegalArgumentException("Backoff multiplier must be at least 1: " + multiplier);
+            }
+            this.first = first;
+            this.initialMillis = initial.toMillis();
+            this.multiplier = multiplier;
+            this.maxMillis = max.toMillis();
+        }
+
+        @Override
+        public Duration nextInterval(int pollCount) {
+            int backoffStep = pollCount - 1;
+            if (first != null) {
+                if (pollCount <= 1) {
+                    return first;
+                }
+                backoffStep--;
+            }
+            double interval = initialMillis * Math.pow(multiplier, Math.max(backoffStep, 0));
+            return Duration.ofMillis((long) Math.min(interval, maxMillis));
+        }
+
+        @Override
+        public String toString() {
+            String backoff = initialMillis + "ms," + multiplier + "," + maxMillis + "ms";
+            return first != null ? "fast-first:" + first.toMillis() + "ms," + backoff : "backoff:" + backoff;
+        }
+    }
+}
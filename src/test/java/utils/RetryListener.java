@@ -0,0 +1,101 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAnnotationTransformer;
+import org.testng.IRetryAnalyzer;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.annotations.ITestAnnotation;
+import org.testng.internal.annotations.DisabledRetryAnalyzer;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Retries transient failures and keeps chronically flaky tests from running.
+ * <p>
+ * Every test without a retry analyzer of its own gets {@link TransientFailureRetry}. The final outcome of each
+ * invocation is recorded in {@link FlakeStats}. A test is quarantined, i.e. disabled before the suite starts,
+ * once at least {@code -Dquarantine.minRuns} (default 5) of its recent runs are known and at least
+ * {@code -Dquarantine.percent} (default 30) of them were flaky: passed only on a retry, or failed and passed again
+ * in a later run. A test whose last {@code quarantine.minRuns} runs all failed is never quarantined, since it is
+ * broken rather than flaky. {@code -Dquarantine=false} runs
+ * quarantined tests again, e.g. in a nightly build, so their statistics can recover.
+ * Registered in testng.xml, since annotation transformers cannot be added with {@code @Listeners}.
+ */
+public class RetryListener implements IAnnotationTransformer, ITestListener, ISuiteListener {
+
+    private static final Logger logger = LogManager.getLogger(RetryListener.class);
+
+    private final Set<String> quarantined = new TreeSet<>();
+    private final LongAdder passedOnRetry = new LongAdder();
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
+        Class<? extends IRetryAnalyzer> retryAnalyzer = annotation.getRetryAnalyzerClass();
+        if (retryAnalyzer == null || retryAnalyzer == DisabledRetryAnalyzer.class) {
+            annotation.setRetryAnalyzer(TransientFailureRetry.class);
+        }
+        if (testMethod == null || !Boolean.parseBoolean(System.getProperty("quarantine", "true"))) {
+            return;
+        }
+        String test = testMethod.getDeclaringClass().getName() + "." + testMethod.getName();
+        FlakeStats stats = FlakeStats.getInstance();
+        if (annotation.getEnabled() && stats.isChronicallyFlaky(test,
+                Integer.getInteger("quarantine.minRuns", 5), Integer.getInteger("quarantine.percent", 30))) {
+            annotation.setEnabled(false);
+            synchronized (quarantined) {
+                quarantined.add(test);
+            }
+            logger.warn("Quarantined {}: {}% of its last {} runs were flaky ({}).",
+                    test, stats.flakePercent(test), stats.history(test).length(), stats.history(test));
+        }
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        IRetryAnalyzer analyzer = result.getMethod().getRetryAnalyzer(result);
+        boolean retried = analyzer instanceof TransientFailureRetry && ((TransientFailureRetry) analyzer).getRetries() > 0;
+        if (retried) {
+            passedOnRetry.increment();
+        }
+        FlakeStats.getInstance().record(testName(result), retried ? FlakeStats.Outcome.PASSED_ON_RETRY : FlakeStats.Outcome.PASSED);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        // Failures that will be retried are reported as skipped, so this is the final outcome
+        boolean retryable = FailureClassifier.classify(result.getThrowable()).isRetryable();
+        FlakeStats.getInstance().record(testName(result), retryable ? FlakeStats.Outcome.FAILED_TRANSIENT : FlakeStats.Outcome.FAILED);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        FlakeStats stats = FlakeStats.getInstance();
+        if (!stats.hasRecorded()) {
+            return;
+        }
+        try {
+            stats.save();
+        } catch (IOException e) {
+            logger.error("Failed to save flake statistics: {}", e.getMessage());
+        }
+        synchronized (quarantined) {
+            logger.info("{} tests passed only on a retry; {} quarantined tests skipped{}", passedOnRetry.sum(),
+                    quarantined.size(), quarantined.isEmpty() ? "." : ": " + quarantined);
+        }
+    }
+
+    private static String testName(ITestResult result) {
+        return result.getMethod().getConstructorOrMethod().getMethod().getDeclaringClass().getName()
+                + "." + result.getMethod().getMethodName();
+    }
+}
@@ -0,0 +1,15 @@
+package utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lets a test method, or all tests of a class, log in with the session captured after an earlier UI login
+ * of the same user and browser, see {@link SessionCache}. Tests that check the login itself must not use it.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface ReuseSession {
+}
@@ -0,0 +1,266 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Captures screenshots once as bytes and writes them to disk in the background.
+ * <p>
+ * The test thread only pays for the capture; the bytes are returned for Allure right away and a bounded writer
+ * pool optionally downscales ({@code screenshot_max_width}) or re-encodes ({@code screenshot_format=jpg},
+ * {@code screenshot_jpeg_quality}) them and stores them as {@code target/screenshots/<sha-256>.<ext>}.
+ * Identical screenshots are therefore stored once; {@code index.csv} in the same directory maps each capture's
+ * label to its file. When the writer queue is full, the test thread writes the screenshot itself.
+ */
+public final class ScreenshotPipeline {
+
+    private static final Logger logger = LogManager.getLogger(ScreenshotPipeline.class);
+
+    private static final String INDEX_FILE = "index.csv";
+
+    private final Path directory;
+    private final int maxWidth;  // 0 keeps the captured size
+    private final String format;
+    private final float jpegQuality;
+    private final ThreadPoolExecutor writer;
+    private final Set<String> storedHashes = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private ScreenshotPipeline(Path directory, int maxWidth, String format, float jpegQuality, int threads, int queueSize) {
+        this.directory = directory;
+        this.maxWidth = maxWidth;
+        this.format = format;
+        this.jpegQuality = jpegQuality;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.writer = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "screenshot-writer-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);  // Never keeps the JVM alive, drain() waits for queued writes
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());  // Back-pressure instead of dropping screenshots
+    }
+
+    private static volatile boolean started;
+
+    private static class Holder {
+        private static final ScreenshotPipeline INSTANCE = create();
+    }
+
+    /**
+     * @return The shared pipeline, configured from TestConfig on first use
+     */
+    public static ScreenshotPipeline getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private static ScreenshotPipeline create() {
+        TestConfig config = TestConfig.get();
+        String format = config.getString("screenshot_format", "png").toLowerCase(Locale.ROOT);
+        if (!format.equals("png") && !format.equals("jpg")) {
+            throw new IllegalArgumentException("Unsupported screenshot_format (expected png or jpg): " + format);
+        }
+        int quality = config.getInt("screenshot_jpeg_quality", 85);
+        if (quality < 1 || quality > 100) {
+            throw new IllegalArgumentException("screenshot_jpeg_quality must be between 1 and 100: " + quality);
+        }
+        ScreenshotPipeline pipeline = new ScreenshotPipeline(
+                Paths.get(System.getProperty("user.dir"), "target", "screenshots"),
+                Math.max(config.getInt("screenshot_max_width", 0), 0),
+                format,
+                quality / 100f,
+                Math.max(config.getInt("screenshot_writer_threads", 1), 1),
+                Math.max(config.getInt("screenshot_queue_size", 16), 1));
+        started = true;
+        return pipeline;
+    }
+
+    /**
+     * Wait for queued screenshots if the pipeline has been used, without creating it otherwise.
+     *
+     * @param timeout Maximum time to wait
+     * @return True if nothing is left to write
+     */
+    public static boolean drainIfStarted(Duration timeout) {
+        return !started || Holder.INSTANCE.drain(timeout);
+    }
+
+    /**
+     * Capture a screenshot and queue it for writing.
+     *
+     * @param driver WebDriver instance
+     * @param label  Label recorded in the index, e.g. the test name
+     * @return The captured PNG bytes, for attaching to the report; empty if the capture failed
+     */
+    public byte[] capture(WebDriver driver, String label) {
+        byte[] screenshot = ScreenshotUtil.takeScreenshotAsBytes(driver);
+        if (screenshot.length > 0) {
+            submit(screenshot, label);
+        }
+        return screenshot;
+    }
+
+    /**
+     * Queue already captured PNG bytes for writing.
+     *
+     * @param screenshot PNG bytes
+     * @param label      Label recorded in the index
+     */
+    public void submit(byte[] screenshot, String label) {
+        String timestamp = LocalDateTime.now().toString();
+        pending.incrementAndGet();
+        writer.execute(() -> {
+            try {
+                write(screenshot, label, timestamp);
+            } catch (IOException | RuntimeException e) {
+                logger.error("Failed to write screenshot '{}': {}", label, e.getMessage());
+            } finally {
+                if (pending.decrementAndGet() == 0) {
+                    synchronized (pending) {
+                        pending.notifyAll();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Wait until all queued screenshots are written.
+     *
+     * @param timeout Maximum time to wait
+     * @return True if everything was written, false if writes were still pending at the timeout
+     */
+    public boolean drain(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (pending) {
+            while (pending.get() > 0) {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis <= 0) {
+                    return false;
+                }
+                try {
+                    pending.wait(remainingMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void write(byte[] screenshot, String label, String timestamp) throws IOException {
+        String hash = sha256(screenshot);
+        Path file = directory.resolve(hash + "." + format);
+        if (storedHashes.add(hash) && !Files.exists(file)) {
+            try {
+                Files.createDirectories(directory);
+                Path temp = directory.resolve(hash + ".tmp");  // Unique: only one writer stores each hash
+                Files.write(temp, encode(screenshot));
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException | RuntimeException e) {
+                storedHashes.remove(hash);  // Let the next identical screenshot try again
+                throw e;
+            }
+            logger.info("Screenshot saved at: {}", file);
+        } else {
+            logger.info("Screenshot identical to: {}", file);
+        }
+        appendToIndex(timestamp + "," + label.replace(',', '_') + "," + file.getFileName() + System.lineSeparator());
+    }
+
+    private synchronized void appendToIndex(String line) throws IOException {
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve(INDEX_FILE), line, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Downscale and re-encode as configured; the captured PNG is kept as it is when neither applies.
+     */
+    private byte[] encode(byte[] screenshot) throws IOException {
+        boolean rescale = maxWidth > 0;
+        if (!rescale && format.equals("png")) {
+            return screenshot;
+        }
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(screenshot));
+        if (image == null) {
+            throw new IOException("Screenshot is not a readable image");
+        }
+        if (rescale && image.getWidth() > maxWidth) {
+            image = scale(image, maxWidth);
+        } else if (format.equals("jpg")) {
+            image = scale(image, image.getWidth());  // JPEG has no alpha channel, copy into RGB
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        if (format.equals("jpg")) {
+            ImageWriter imageWriter = ImageIO.getImageWritersByFormatName("jpg").next();
+            ImageWriteParam param = imageWriter.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            try (ImageOutputStream stream = ImageIO.createImageOutputStream(output)) {
+                imageWriter.setOutput(stream);
+                imageWriter.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                imageWriter.dispose();
+            }
+        } else {
+            ImageIO.write(image, "png", output);
+        }
+        return output.toByteArray();
+    }
+
+    private static BufferedImage scale(BufferedImage image, int width) {
+        int height = Math.max(1, (int) Math.round(image.getHeight() * (width / (double) image.getWidth())));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Logged-in browser state (cookies and localStorage) captured after one UI login per user and browser,
+ * and injected into later sessions so their tests start on an inner page without the login form.
+ * <p>
+ * Snapshots are shared by all threads. Only one thread logs in per user and browser; the others wait for
+ * its snapshot. An injected session is checked by opening the inner page: if the login page shows up
+ * instead, or a cookie has expired, the snapshot is discarded and the user logs in through the UI again.
+ */
+public final class SessionCache {
+
+    private static final Logger logger = LogManager.getLogger(SessionCache.class);
+
+    private static final String READ_LOCAL_STORAGE_SCRIPT =
+            "var items = {};"
+                    + "for (var i = 0; i < window.localStorage.length; i++) {"
+                    + "  var key = window.localStorage.key(i); items[key] = window.localStorage.getItem(key);"
+                    + "}"
+                    + "return items;";
+
+    private static final String WRITE_LOCAL_STORAGE_SCRIPT =
+            "var items = arguments[0];"
+                    + "for (var key in items) { window.localStorage.setItem(key, items[key]); }";
+
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<String, ReentrantLock> loginLocks = new ConcurrentHashMap<>();  // Not monitors: a waiting virtual thread must not pin its carrier
+    private final LongAdder uiLogins = new LongAdder();
+    private final LongAdder injections = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    private static class Holder {
+        private static final SessionCache INSTANCE = new SessionCache();
+    }
+
+    private SessionCache() {
+    }
+
+    public static SessionCache getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Where and how to log in, and how to tell a logged-in inner page from the login page.
+     */
+    public static final class LoginFlow {
+        private final String baseUrl;
+        private final String innerUrl;
+        private final By loggedInMarker;
+        private final By loggedOutMarker;
+        private final Runnable uiLogin;
+
+        /**
+         * @param baseUrl         Any page of the site, opened to set cookies and storage for its origin
+         * @param innerUrl        Page to open with the injected session
+         * @param loggedInMarker  Element only shown to logged-in users on the inner page
+         * @param loggedOutMarker Element of the page rejected sessions are redirected to
+         * @param uiLogin         Logs in through the UI, ending on a logged-in page
+         */
+        public LoginFlow(String baseUrl, String innerUrl, By loggedInMarker, By loggedOutMarker, Runnable uiLogin) {
+            this.baseUrl = baseUrl;
+            this.innerUrl = innerUrl;
+            this.loggedInMarker = loggedInMarker;
+            this.loggedOutMarker = loggedOutMarker;
+            this.uiLogin = uiLogin;
+        }
+    }
+
+    /**
+     * Log a session in as a user: with the cached snapshot if there is a valid one, otherwise through the UI,
+     * capturing a snapshot for later sessions. Ends on a logged-in page.
+     *
+     * @param context  Test whose session to log in
+     * @param username User to log in as, part of the cache key
+     * @param browser  Browser of the session, part of the cache key
+     * @param flow     How to log in and verify the session
+     */
+    public void logIn(TestContext context, String username, Browser browser, LoginFlow flow) {
+        String key = username + "@" + browser;
+        Snapshot snapshot = snapshots.get(key);
+        if (snapshot != null && restore(context, key, snapshot, flow)) {
+            return;
+        }
+        ReentrantLock lock = loginLocks.computeIfAbsent(key, lockKey -> new ReentrantLock());
+        lock.lock();
+        try {
+            Snapshot current = snapshots.get(key);
+            if (current != null && current != snapshot && restore(context, key, current, flow)) {
+                return;  // Another thread logged in while this one waited
+            }
+            flow.uiLogin.run();
+            uiLogins.increment();
+            snapshots.put(key, capture(context.getDriver()));
+            logger.info("Captured logged-in session of {}.", key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forget the snapshot of a user, e.g. after changing the user's password.
+     */
+    public void invalidate(String username, Browser browser) {
+        snapshots.remove(username + "@" + browser);
+    }
+
+    /**
+     * @return UI logins, injected sessions and rejected snapshots so far
+     */
+    public String summary() {
+        return String.format("%d UI logins, %d injected sessions, %d rejected snapshots",
+                uiLogins.sum(), injections.sum(), rejections.sum());
+    }
+
+    private boolean restore(TestContext context, String key, Snapshot snapshot, LoginFlow flow) {
+        if (snapshot.isExpired()) {
+            reject(key, snapshot, "a cookie expired");
+            return false;
+        }
+        WebDriver driver = context.getDriver();
+        try {
+            context.getBrowserUtil().navigateTo(flow.baseUrl);  // Cookies and storage can only be set for the loaded origin
+            for (Cookie cookie : snapshot.cookies) {
+                driver.manage().addCookie(cookie);
+            }
+            ((JavascriptExecutor) driver).executeScript(WRITE_LOCAL_STORAGE_SCRIPT, snapshot.localStorage);
+            context.getBrowserUtil().navigateTo(flow.innerUrl);
+            boolean accepted = new WaitUtil(driver).waitUntil("sessionRestored", webDriver -> {
+                if (!webDriver.findElements(flow.loggedInMarker).isEmpty()) {
+                    return "accepted";
+                }
+                return webDriver.findElements(flow.loggedOutMarker).isEmpty() ? null : "rejected";
+            }).equals("accepted");
+            if (accepted) {
+                injections.increment();
+                return true;
+            }
+            reject(key, snapshot, "the site showed the login page");
+        } catch (WebDriverException e) {
+            reject(key, snapshot, e.getClass().getSimpleName());
+        }
+        driver.manage().deleteAllCookies();
+        ((JavascriptExecutor) driver).executeScript("window.localStorage.clear();");
+        return false;
+    }
+
+    private void reject(String key, Snapshot snapshot, String reason) {
+        rejections.increment();
+        snapshots.remove(key, snapshot);  // Keeps a newer snapshot captured by another thread
+        logger.warn("Discarded cached session of {} because {}, logging in through the UI.", key, reason);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Snapshot capture(WebDriver driver) {
+        Object storage = ((JavascriptExecutor) driver).executeScript(READ_LOCAL_STORAGE_SCRIPT);
+        return new Snapshot(driver.manage().getCookies(),
+                storage instanceof Map ? new HashMap<>((Map<String, Object>) storage) : Map.of());
+    }
+
+    private static final class Snapshot {
+        private final Set<Cookie> cookies;
+        private final Map<String, Object> localStorage;
+
+        private Snapshot(Set<Cookie> cookies, Map<String, Object> localStorage) {
+            this.cookies = Set.copyOf(cookies);
+            this.localStorage = Map.copyOf(localStorage);
+        }
+
+        private boolean isExpired() {
+            Date now = new Date();
+            return cookies.stream().anyMatch(cookie -> cookie.getExpiry() != null && cookie.getExpiry().before(now));
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package utils;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlPackage;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+import org.testng.xml.internal.Parser;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Splits the test methods of a TestNG suite into shards with balanced expected runtimes.
+ * <p>
+ * Expected runtimes are the median durations of earlier runs, kept in a history file fed from Allure result files;
+ * tests without history get a default estimate. Tests are assigned longest first, each to the shard with the least expected
+ * runtime so far (LPT scheduling), which keeps the slowest shard within 4/3 of the optimum.
+ */
+public final class ShardPlanner {
+
+    /** Allure statuses whose durations reflect a full run; skipped tests end after a few milliseconds. */
+    private static final Set<String> TIMED_STATUSES = Set.of("passed", "failed", "broken");
+
+    /** Most recent durations kept per test in the history file. */
+    static final int HISTORY_SAMPLES = 10;
+
+    private ShardPlanner() {
+    }
+
+    /**
+     * A test method with its expected runtime.
+     */
+    public static final class PlannedTest {
+        private final String className;
+        private final String methodName;
+        private final Duration estimate;
+        private final boolean measured;
+
+        private PlannedTest(String className, String methodName, Duration estimate, boolean measured) {
+            this.className = className;
+            this.methodName = methodName;
+            this.estimate = estimate;
+            this.measured = measured;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        public String getMethodName() {
+            return methodName;
+        }
+
+        public Duration getEstimate() {
+            return estimate;
+        }
+
+        /**
+         * @return False if the estimate is the default for tests without history
+         */
+        public boolean isMeasured() {
+            return measured;
+        }
+    }
+
+    /**
+     * The tests of one forked JVM.
+     */
+    public static final class Shard {
+        private final int index;
+        private final List<PlannedTest> tests = new ArrayList<>();
+        private Duration expected = Duration.ZERO;
+
+        private Shard(int index) {
+            this.index = index;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public List<PlannedTest> getTests() {
+            return tests;
+        }
+
+        public Duration getExpected() {
+            return expected;
+        }
+
+        /**
+         * @param template    Suite the tests come from, for its name, listeners and parallel mode
+         * @param threadCount Threads running the shard's tests
+         * @return A suite running only this shard's tests
+         */
+        public XmlSuite toSuite(XmlSuite template, int threadCount) {
+            XmlSuite suite = new XmlSuite();
+            suite.setName(template.getName() + " shard " + index);
+            suite.setParallel(template.getParallel());
+            suite.setThreadCount(threadCount);
+            suite.setListeners(new ArrayList<>(template.getListeners()));
+            suite.setParameters(template.getParameters());
+
+            XmlTest test = new XmlTest(suite);
+            test.setName("Shard " + index);
+            Map<String, XmlClass> classes = new LinkedHashMap<>();
+            for (PlannedTest planned : tests) {
+                XmlClass xmlClass = classes.computeIfAbsent(planned.className, name -> new XmlClass(name, false));
+                xmlClass.getIncludedMethods().add(new XmlInclude(planned.methodName));
+            }
+            test.setXmlClasses(new ArrayList<>(classes.values()));
+            return suite;
+        }
+    }
+
+    /**
+     * Read the median duration of every test found in a directory of Allure results.
+     *
+     * @param allureResults Directory with {@code *-result.json} files, may be missing
+     * @return Median duration by "class.method"
+     */
+    public static Map<String, Duration> readDurations(Path allureResults) throws IOException {
+        return medians(readSamples(allureResults));
+    }
+
+    /**
+     * Read the median of the recent durations of every test in a history file.
+     *
+     * @param historyFile File written by {@link #recordDurations}, may be missing
+     * @return Median duration by "class.method"
+     */
+    public static Map<String, Duration> readHistory(Path historyFile) throws IOException {
+        return medians(readHistorySamples(historyFile));
+    }
+
+    /**
+     * Add the durations of a run to a history file, keeping the last {@value #HISTORY_SAMPLES} per test.
+     *
+     * @param historyFile   History file, created if missing
+     * @param allureResults Allure results of the run
+     */
+    public static void recordDurations(Path historyFile, Path allureResults) throws IOException {
+        Map<String, List<Long>> history = readHistorySamples(historyFile);
+        readSamples(allureResults).forEach((test, millis) -> {
+            List<Long> samples = history.computeIfAbsent(test, name -> new ArrayList<>());
+            samples.addAll(millis);
+            if (samples.size() > HISTORY_SAMPLES) {
+                samples.subList(0, samples.size() - HISTORY_SAMPLES).clear();
+            }
+        });
+        JSONObject json = new JSONObject();
+        history.forEach(json::put);
+        Path absolute = historyFile.toAbsolutePath();
+        Files.createDirectories(absolute.getParent());
+        Path temporary = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        Files.writeString(temporary, json.toString(2), StandardCharsets.UTF_8);
+        Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Map<String, List<Long>> readSamples(Path allureResults) throws IOException {
+        Map<String, List<Long>> samples = new HashMap<>();
+        if (Files.isDirectory(allureResults)) {
+            try (Stream<Path> files = Files.list(allureResults)) {
+                for (Path file : files.filter(path -> path.getFileName().toString().endsWith("-result.json")).collect(Collectors.toList())) {
+                    try {
+                        JSONObject result = new JSONObject(Files.readString(file, StandardCharsets.UTF_8));
+                        if (TIMED_STATUSES.contains(result.optString("status")) && result.has("fullName")) {
+                            samples.computeIfAbsent(result.getString("fullName"), name -> new ArrayList<>())
+                                    .add(result.getLong("stop") - result.getLong("start"));
+                        }
+                    } catch (JSONException e) {
+                        // Written by a run that was killed, ignore
+                    }
+                }
+            }
+        }
+        return samples;
+    }
+
+    private static Map<String, List<Long>> readHistorySamples(Path historyFile) throws IOException {
+        Map<String, List<Long>> samples = new LinkedHashMap<>();
+        if (!Files.isRegularFile(historyFile)) {
+            return samples;
+        }
+        try {
+            JSONObject json = new JSONObject(Files.readString(historyFile, StandardCharsets.UTF_8));
+            for (String test : json.keySet()) {
+                JSONArray millis = json.getJSONArray(test);
+                List<Long> values = new ArrayList<>();
+                for (int i = 0; i < millis.length(); i++) {
+                    values.add(millis.getLong(i));
+                }
+                samples.put(test, values);
+            }
+        } catch (JSONException e) {
+            throw new IOException("Malformed duration history " + historyFile + ": " + e.getMessage(), e);
+        }
+        return samples;
+    }
+
+    private static Map<String, Duration> medians(Map<String, List<Long>> samples) {
+        Map<String, Duration> durations = new HashMap<>();
+        samples.forEach((name, millis) -> {
+            if (millis.isEmpty()) {
+                return;
+            }
+            List<Long> sorted = new ArrayList<>(millis);
+            sorted.sort(null);
+            durations.put(name, Duration.ofMillis(sorted.get(sorted.size() / 2)));
+        });
+        return durations;
+    }
+
+    /**
+     * @param suiteFile TestNG suite file
+     * @return The suite as parsed by TestNG
+     */
+    public static XmlSuite readSuite(Path suiteFile) throws IOException {
+        List<XmlSuite> suites = new Parser(suiteFile.toString()).parseToList();
+        if (suites.size() != 1) {
+            throw new IllegalArgumentException("Expected exactly one suite in " + suiteFile + ", found " + suites.size());
+        }
+        return suites.get(0);
+    }
+
+    /**
+     * List the test methods of all tests of a suite, from their classes and packages.
+     *
+     * @param suite Suite to list
+     * @return "class.method" names in suite order, without duplicates
+     */
+    public static List<String> listTests(XmlSuite suite) {
+        Set<String> tests = new LinkedHashSet<>();
+        for (XmlTest test : suite.getTests()) {
+            List<XmlClass> classes = new ArrayList<>(test.getXmlClasses());
+            for (XmlPackage xmlPackage : test.getXmlPackages()) {
+                classes.addAll(xmlPackage.getXmlClasses());
+            }
+            for (XmlClass xmlClass : classes) {
+                tests.addAll(testMethods(xmlClass.getSupportClass()));
+            }
+        }
+        return new ArrayList<>(tests);
+    }
+
+    private static List<String> testMethods(Class<?> testClass) {
+        List<String> methods = new ArrayList<>();
+        if (Modifier.isAbstract(testClass.getModifiers())) {
+            return methods;
+        }
+        Test classAnnotation = testClass.getAnnotation(Test.class);
+        for (Method method : testClass.getMethods()) {
+            Test annotation = method.getAnnotation(Test.class);
+            boolean isTest = annotation != null
+                    || (classAnnotation != null && method.getDeclaringClass() == testClass && method.getReturnType() == void.class);
+            if (isTest && (annotation == null || annotation.enabled())) {
+                methods.add(testClass.getName() + "." + method.getName());
+            }
+        }
+        methods.sort(null);
+        return methods;
+    }
+
+    /**
+     * Assign tests to shards, longest expected runtime first, each to the currently least loaded shard.
+     *
+     * @param tests           "class.method" names
+     * @param durations       Known durations by "class.method"
+     * @param shardCount      Number of shards
+     * @param defaultEstimate Estimate for tests without a known duration
+     * @return The shards, some possibly empty when there are fewer tests than shards
+     */
+    public static List<Shard> plan(List<String> tests, Map<String, Duration> durations, int shardCount, Duration defaultEstimate) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be at least 1: " + shardCount);
+        }
+        List<PlannedTest> planned = new ArrayList<>();
+        for (String test : tests) {
+            int separator = test.lastIndexOf('.');
+            Duration known = durations.get(test);
+            planned.add(new PlannedTest(test.substring(0, separator), test.substring(separator + 1),
+                    known != null ? known : defaultEstimate, known != null));
+        }
+        planned.sort(Comparator.comparing(PlannedTest::getEstimate).reversed()
+                .thenComparing(PlannedTest::getClassName).thenComparing(PlannedTest::getMethodName));
+
+        List<Shard> shards = new ArrayList<>();
+        PriorityQueue<Shard> byLoad = new PriorityQueue<>(Comparator.comparing(Shard::getExpected).thenComparing(Shard::getIndex));
+        for (int i = 0; i < shardCount; i++) {
+            Shard shard = new Shard(i);
+            shards.add(shard);
+            byLoad.add(shard);
+        }
+        for (PlannedTest test : planned) {
+            Shard shard = byLoad.poll();
+            shard.tests.add(test);
+            shard.expected = shard.expected.plus(test.estimate);
+            byLoad.add(shard);
+        }
+        return shards;
+    }
+
+    /**
+     * @param tests     "class.method" names to plan
+     * @param durations Known durations by "class.method"
+     * @param fallback  Estimate when none of the tests has a known duration
+     * @return The median known duration of the tests
+     */
+    public static Duration defaultEstimate(List<String> tests, Map<String, Duration> durations, Duration fallback) {
+        List<Duration> sorted = tests.stream().map(durations::get).filter(Objects::nonNull).sorted().collect(Collectors.toList());
+        if (sorted.isEmpty()) {
+            return fallback;
+        }
+        return sorted.get(sorted.size() / 2);
+    }
+}
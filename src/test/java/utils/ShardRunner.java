@@ -0,0 +1,227 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.testng.xml.XmlSuite;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Runs the suite in forked JVMs, one per shard planned by {@link ShardPlanner}, and merges their results.
+ * <p>
+ * Started by the {@code shards} Maven profile ({@code mvn test -Pshards -Dshards=4}). Each shard runs its tests
+ * with TestNG in its own JVM, writing Allure results to {@code target/shards/shard-N/allure-results} and
+ * TestNG output next to it. Afterwards all Allure results are copied into {@code target/allure-results}, which is
+ * emptied first so {@code allure serve} shows one report of this run only. The test durations of the run are added
+ * to the duration history the next run plans with, and the expected and actual runtime of every shard is written
+ * to {@code target/shards/summary.json}.
+ * <p>
+ * Settings, as system properties: {@code shards} (default 2), {@code shard.suite} (default
+ * {@code src/test/resources/testng.xml}), {@code shard.history} (default {@code shard-durations.json} in the
+ * project directory, outside {@code target} so {@code mvn clean} keeps it),
+ * {@code shard.defaultSeconds} (estimate for tests without history, default: the median known duration or 60)
+ * and {@code shard.javaagent} (the AspectJ weaver for Allure steps). Within a shard tests run on one thread
+ * unless {@code -Dthreads} is given. Other non-JVM system properties, such as {@code browser}, are passed on.
+ * All shards generate their test data from the same seed, {@code -Dtest.seed} or a random one picked here.
+ */
+public final class ShardRunner {
+
+    private static final Logger logger = LogManager.getLogger(ShardRunner.class);
+
+    /** System properties of the JVM or build tool itself, which are not passed on to the shards. */
+    private static final List<String> JVM_PROPERTY_PREFIXES = List.of(
+            "java.", "javax.", "jdk.", "sun.", "os.", "user.", "file.", "line.", "path.", "native.", "stdout.",
+            "stderr.", "maven.", "classworlds.", "library.", "guice.", "jansi.", "awt.", "env.", "shard.", "exec.");
+
+    private static final Set<String> RUNNER_PROPERTIES = Set.of("shards", "threads", "allure.results.directory", "basedir");
+
+    private static final Pattern COUNT_ATTRIBUTE = Pattern.compile("(total|passed|failed|skipped)=\"(\\d+)\"");
+
+    private ShardRunner() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path baseDirectory = Paths.get(System.getProperty("basedir", System.getProperty("user.dir")));
+        int shardCount = Integer.getInteger("shards", 2);
+        Path suiteFile = baseDirectory.resolve(System.getProperty("shard.suite", "src/test/resources/testng.xml"));
+        Path history = baseDirectory.resolve(System.getProperty("shard.history", "shard-durations.json"));
+        Path allureResults = baseDirectory.resolve("target/allure-results");
+        Path shardsDirectory = baseDirectory.resolve("target/shards");
+
+        XmlSuite suite = ShardPlanner.readSuite(suiteFile);
+        List<String> tests = ShardPlanner.listTests(suite);
+        Map<String, Duration> durations = ShardPlanner.readHistory(history);
+        Integer defaultSeconds = Integer.getInteger("shard.defaultSeconds");
+        Duration defaultEstimate = defaultSeconds != null
+                ? Duration.ofSeconds(defaultSeconds)
+                : ShardPlanner.defaultEstimate(tests, durations, Duration.ofSeconds(60));
+        int threadCount = Integer.getInteger("threads", 1);  // One thread runs tests one after another, as the plan assumes
+        if (System.getProperty("test.seed") == null) {
+            // One seed for all shards, passed on like the other settings, so the merged report names the seed of every test's data
+            System.setProperty("test.seed", String.valueOf(ThreadLocalRandom.current().nextLong()));
+        }
+        List<ShardPlanner.Shard> shards = ShardPlanner.plan(tests, durations, shardCount, defaultEstimate);
+        logger.info("Planned {} tests ({} with history, default estimate {} s) on {} shards, test data seed {}.",
+                tests.size(), tests.stream().filter(durations::containsKey).count(), defaultEstimate.toSeconds(), shardCount,
+                System.getProperty("test.seed"));
+
+        List<Process> processes = new ArrayList<>();
+        List<Long> startTimes = new ArrayList<>();
+        for (ShardPlanner.Shard shard : shards) {
+            Path shardDirectory = shardsDirectory.resolve("shard-" + shard.getIndex());
+            deleteRecursively(shardDirectory);
+            Files.createDirectories(shardDirectory);
+            if (shard.getTests().isEmpty()) {
+                processes.add(null);
+                startTimes.add(System.nanoTime());
+                continue;
+            }
+            Path shardSuite = shardsDirectory.resolve("shard-" + shard.getIndex() + ".xml");
+            Files.writeString(shardSuite, shard.toSuite(suite, threadCount).toXml(), StandardCharsets.UTF_8);
+            logger.info("Shard {}: {} tests, expected {} s.", shard.getIndex(), shard.getTests().size(), shard.getExpected().toSeconds());
+
+            ProcessBuilder builder = new ProcessBuilder(command(shardDirectory, shardSuite, threadCount))
+                    .directory(baseDirectory.toFile())
+                    .redirectErrorStream(true)
+                    .redirectOutput(shardDirectory.resolve("output.log").toFile());
+            startTimes.add(System.nanoTime());
+            processes.add(builder.start());
+        }
+
+        deleteRecursively(allureResults);  // Results of earlier runs would show up as retries of this one
+        JSONArray summary = new JSONArray();
+        int failedShards = 0;
+        for (ShardPlanner.Shard shard : shards) {
+            Process process = processes.get(shard.getIndex());
+            int exitCode = process != null ? process.waitFor() : 0;
+            double seconds = (System.nanoTime() - startTimes.get(shard.getIndex())) / 1e9;
+            Path shardDirectory = shardsDirectory.resolve("shard-" + shard.getIndex());
+            JSONObject result = new JSONObject()
+                    .put("shard", shard.getIndex())
+                    .put("tests", shard.getTests().size())
+                    .put("expectedSeconds", shard.getExpected().toMillis() / 1000.0)
+                    .put("actualSeconds", seconds)
+                    .put("exitCode", exitCode);
+            readCounts(shardDirectory.resolve("testng/testng-results.xml"), result);
+            summary.put(result);
+            if (exitCode != 0) {
+                failedShards++;
+                logger.error("Shard {} failed with exit code {}, see {}", shard.getIndex(), exitCode, shardDirectory.resolve("output.log"));
+            }
+            mergeAllureResults(shardDirectory.resolve("allure-results"), allureResults);
+        }
+        Files.writeString(shardsDirectory.resolve("summary.json"), summary.toString(2), StandardCharsets.UTF_8);
+        ShardPlanner.recordDurations(history, allureResults);
+        logger.info("Shard results merged into {}, durations added to {}, summary in {}",
+                allureResults, history, shardsDirectory.resolve("summary.json"));
+
+        if (failedShards > 0) {
+            throw new IllegalStateException(failedShards + " of " + shardCount + " shards failed");
+        }
+    }
+
+    private static List<String> command(Path shardDirectory, Path shardSuite, int threadCount) {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        String javaAgent = System.getProperty("shard.javaagent");
+        if (javaAgent != null && !javaAgent.isBlank()) {
+            command.add("-javaagent:" + javaAgent);
+        }
+        command.add("-cp");
+        command.add(testClasspath());
+        Properties properties = System.getProperties();
+        for (String name : properties.stringPropertyNames()) {
+            if (!RUNNER_PROPERTIES.contains(name) && JVM_PROPERTY_PREFIXES.stream().noneMatch(name::startsWith)) {
+                command.add("-D" + name + "=" + properties.getProperty(name));
+            }
+        }
+        command.add("-Dthreads=" + threadCount);  // Else ParallelSuiteListener sizes the pool by cores
+        command.add("-Dallure.results.directory=" + shardDirectory.resolve("allure-results"));
+        command.add("org.testng.TestNG");
+        command.add("-d");
+        command.add(shardDirectory.resolve("testng").toString());
+        command.add(shardSuite.toString());
+        return command;
+    }
+
+    /**
+     * The classpath this class was loaded from: Maven's exec:java loads the project into a URLClassLoader,
+     * a plain java launch uses java.class.path.
+     */
+    private static String testClasspath() {
+        ClassLoader loader = ShardRunner.class.getClassLoader();
+        if (loader instanceof URLClassLoader) {
+            List<String> entries = new ArrayList<>();
+            for (URL url : ((URLClassLoader) loader).getURLs()) {
+                try {
+                    entries.add(Paths.get(url.toURI()).toString());
+                } catch (URISyntaxException e) {
+                    throw new IllegalStateException("Unsupported classpath entry: " + url, e);
+                }
+            }
+            return String.join(File.pathSeparator, entries);
+        }
+        return System.getProperty("java.class.path");
+    }
+
+    private static void readCounts(Path testngResults, JSONObject result) throws IOException {
+        if (!Files.isRegularFile(testngResults)) {
+            return;
+        }
+        String content = Files.readString(testngResults, StandardCharsets.UTF_8);
+        int start = content.indexOf("<testng-results");
+        if (start < 0) {
+            return;
+        }
+        String root = content.substring(start, content.indexOf('>', start));
+        Matcher matcher = COUNT_ATTRIBUTE.matcher(root);
+        while (matcher.find()) {
+            result.put(matcher.group(1), Integer.parseInt(matcher.group(2)));
+        }
+    }
+
+    private static void mergeAllureResults(Path source, Path target) throws IOException {
+        if (!Files.isDirectory(source)) {
+            return;
+        }
+        Files.createDirectories(target);
+        try (Stream<Path> files = Files.list(source)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                // Result files are named by UUID, so shards never overwrite each other
+                Files.copy(file, target.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted((a, b) -> b.getNameCount() - a.getNameCount())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package utils;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.listener.FixtureLifecycleListener;
+import io.qameta.allure.listener.TestLifecycleListener;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.FixtureResult;
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.model.Stage;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.util.ObjectUtils;
+import io.qameta.allure.util.ResultsUtils;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Report steps, parameters and attachments without AspectJ weaving.
+ * <p>
+ * By default each call goes straight to the Allure lifecycle, like {@code @Step} and {@code @Attachment} do with
+ * the AspectJ agent. With {@code -Dallure.steps=buffered}, set by the {@code buffered-steps} Maven profile, which
+ * also drops the agent, the current thread gathers them in memory instead: steps with their timings, status and
+ * parameters, and the attachment bytes. {@link ResultMerger}, an Allure lifecycle listener, adds them to the test
+ * or fixture result when Allure stops it and writes the attachments then, so each test's result is written once,
+ * at the end, and reports look the same in both modes.
+ * <p>
+ * Annotated {@code @Step} methods are only reported with the agent; use {@link #step(String, Runnable)} instead.
+ */
+public final class StepRecorder {
+
+    private static final boolean BUFFERED = "buffered".equalsIgnoreCase(System.getProperty("allure.steps"));
+
+    private static final ThreadLocal<Buffer> buffer = ThreadLocal.withInitial(Buffer::new);
+    private static final ThreadLocal<Deque<Allure.StepContext>> openContexts = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private StepRecorder() {
+    }
+
+    /**
+     * Steps, test parameters and attachments recorded on one thread since Allure last stopped a result there.
+     */
+    private static final class Buffer {
+        private final List<StepResult> steps = new ArrayList<>();
+        private final List<Parameter> parameters = new ArrayList<>();
+        private final List<Attachment> attachments = new ArrayList<>();
+        private final Map<String, byte[]> files = new LinkedHashMap<>();  // Attachment source to content
+        private final Deque<StepResult> open = new ArrayDeque<>();
+
+        private boolean isEmpty() {
+            return steps.isEmpty() && parameters.isEmpty() && attachments.isEmpty();
+        }
+    }
+
+    /**
+     * @return True if steps are gathered in memory and added to the report when the test ends
+     */
+    public static boolean isBuffered() {
+        return BUFFERED;
+    }
+
+    /**
+     * Report a finished step that has no body, e.g. a log message.
+     *
+     * @param name Step name
+     */
+    public static void log(String name) {
+        if (!BUFFERED) {
+            Allure.step(name);
+            return;
+        }
+        long now = System.currentTimeMillis();
+        currentSteps(buffer.get()).add(new StepResult().setName(name).setStatus(Status.PASSED)
+                .setStage(Stage.FINISHED).setStart(now).setStop(now));
+    }
+
+    /**
+     * Run a body as a step. Steps, parameters and attachments reported by the body are nested in it.
+     * A failure marks the step failed (assertions) or broken (anything else) and is rethrown.
+     *
+     * @param name Step name
+     * @param body Work done in the step
+     */
+    public static void step(String name, Runnable body) {
+        step(name, () -> {
+            body.run();
+            return null;
+        });
+    }
+
+    /**
+     * Run a body as a step and return its result, see {@link #step(String, Runnable)}.
+     *
+     * @param name Step name
+     * @param body Work done in the step
+     * @return The body's result
+     */
+    public static <T> T step(String name, Supplier<T> body) {
+        if (!BUFFERED) {
+            Deque<Allure.StepContext> contexts = openContexts.get();
+            return Allure.step(name, context -> {
+                contexts.push(context);
+                try {
+                    return body.get();
+                } finally {
+                    contexts.pop();
+                }
+            });
+        }
+        Buffer current = buffer.get();
+        StepResult step = new StepResult().setName(name).setStage(Stage.RUNNING).setStart(System.currentTimeMillis());
+        currentSteps(current).add(step);
+        current.open.push(step);
+        try {
+            T result = body.get();
+            step.setStatus(Status.PASSED);
+            return result;
+        } catch (RuntimeException | Error e) {
+            step.setStatus(ResultsUtils.getStatus(e).orElse(Status.BROKEN));
+            ResultsUtils.getStatusDetails(e).ifPresent(step::setStatusDetails);
+            throw e;
+        } finally {
+            step.setStop(System.currentTimeMillis()).setStage(Stage.FINISHED);
+            current.open.pop();
+        }
+    }
+
+    /**
+     * Add a parameter to the current step, or to the test outside of steps.
+     *
+     * @param name  Parameter name
+     * @param value Parameter value, reported as a string
+     * @return The value, for use inline
+     */
+    public static <T> T parameter(String name, T value) {
+        if (!BUFFERED) {
+            Allure.StepContext context = openContexts.get().peek();
+            return context != null ? context.parameter(name, value) : Allure.parameter(name, value);
+        }
+        Buffer current = buffer.get();
+        Parameter parameter = new Parameter().setName(name).setValue(ObjectUtils.toString(value));
+        StepResult step = current.open.peek();
+        if (step != null) {
+            step.getParameters().add(parameter);
+        } else {
+            current.parameters.add(parameter);
+        }
+        return value;
+    }
+
+    /**
+     * Attach content to the current step, or to the test outside of steps.
+     *
+     * @param name      Attachment name
+     * @param type      MIME type, e.g. "image/png"
+     * @param content   Attachment content
+     * @param extension File extension, with or without the leading dot
+     */
+    public static void attach(String name, String type, byte[] content, String extension) {
+        if (!BUFFERED) {
+            Allure.addAttachment(name, type, new ByteArrayInputStream(content), extension);
+            return;
+        }
+        String suffix = extension == null || extension.isEmpty() ? "" : extension.startsWith(".") ? extension : "." + extension;
+        String source = UUID.randomUUID() + "-attachment" + suffix;  // Named like the files Allure writes itself
+        Attachment attachment = new Attachment().setName(name).setType(type).setSource(source);
+        Buffer current = buffer.get();
+        StepResult step = current.open.peek();
+        if (step != null) {
+            step.getAttachments().add(attachment);
+        } else {
+            current.attachments.add(attachment);
+        }
+        current.files.put(source, content);
+    }
+
+    private static List<StepResult> currentSteps(Buffer current) {
+        StepResult step = current.open.peek();
+        return step != null ? step.getSteps() : current.steps;
+    }
+
+    /**
+     * Take what the current thread recorded, writing its attachment files, and start a new buffer.
+     *
+     * @return The recorded buffer, or null if nothing was recorded
+     */
+    private static Buffer drain() {
+        Buffer current = buffer.get();
+        if (current.isEmpty()) {
+            return null;
+        }
+        buffer.remove();
+        current.files.forEach((source, content) ->
+                Allure.getLifecycle().writeAttachment(source, new ByteArrayInputStream(content)));
+        return current;
+    }
+
+    /**
+     * Adds the buffered steps of the stopping test or fixture to its result, just before Allure writes it.
+     * Registered in {@code META-INF/services} as a test and a fixture lifecycle listener.
+     */
+    public static final class ResultMerger implements TestLifecycleListener, FixtureLifecycleListener {
+
+        @Override
+        public void beforeTestStop(TestResult result) {
+            Buffer recorded = BUFFERED ? drain() : null;
+            if (recorded != null) {
+                result.getSteps().addAll(recorded.steps);
+                result.getParameters().addAll(recorded.parameters);
+                result.getAttachments().addAll(recorded.attachments);
+            }
+        }
+
+        @Override
+        public void beforeFixtureStop(FixtureResult result) {
+            Buffer recorded = BUFFERED ? drain() : null;
+            if (recorded != null) {
+                result.getSteps().addAll(recorded.steps);
+                result.getParameters().addAll(recorded.parameters);
+                result.getAttachments().addAll(recorded.attachments);
+            }
+        }
+    }
+}
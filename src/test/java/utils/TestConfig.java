@@ -0,0 +1,264 @@
+package utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Configuration snapshot shared by the whole JVM.
+ * <p>
+ * The snapshot is taken the first time {@link #get()} is called. A key is resolved in this order:
+ * <ol>
+ *     <li>Runtime override set by the framework itself with {@link #override(String, String)},
+ *     e.g. the URL of the offline storefront</li>
+ *     <li>System property with the same name, e.g. {@code -Dbrowser=edge}</li>
+ *     <li>Environment variable with the {@code UI_} prefix and the upper-cased name, e.g. {@code UI_BROWSER}, or
+ *     for the few keys CI systems set themselves ({@code CI}, {@code CHROMEDRIVER_PATH}, {@code EDGEDRIVER_PATH})
+ *     the unprefixed name. Other unprefixed variables are ignored: {@code USERNAME} is the OS account on Windows
+ *     and {@code BROWSER} is set by many Linux desktops, neither of which is meant for the tests.</li>
+ *     <li>{@code config.properties} on the classpath</li>
+ *     <li>The default passed to the getter</li>
+ * </ol>
+ * Typed keys are validated when the snapshot is taken, so a malformed value fails the suite up front.
+ */
+public final class TestConfig {
+
+    private static final String CONFIG_FILE = "config.properties";
+    private static final String ENVIRONMENT_PREFIX = "UI_";
+
+    /** Keys also read from the environment variable without the prefix. */
+    private static final Set<String> UNPREFIXED_ENVIRONMENT_KEYS = Set.of("ci", "chromedriver_path", "edgedriver_path");
+
+    /** Keys that must hold an integer when set. */
+    private static final Set<String> INT_KEYS = Set.of(
+            "defaultTimeout", "driver_pool_size", "driver_pool_max_reuse",
+            "screenshot_max_width", "screenshot_jpeg_quality", "screenshot_writer_threads", "screenshot_queue_size",
+            "visual_tile_size", "visual_color_tolerance", "visual_max_changed_pixels", "storefront_port",
+            "prewarm_sessions", "remote_capacity");
+
+    /** Keys that must hold true or false when set. */
+    private static final Set<String> BOOLEAN_KEYS = Set.of(
+            "ci", "headless", "headless_mode", "driver_pool_enabled", "driver_pool_health_check",
+            "element_cache_enabled", "command_tracing_enabled", "offline_storefront",
+            "session_reuse_enabled");
+
+    private static volatile TestConfig instance;
+
+    private final Map<String, String> systemProperties;
+    private final Map<String, String> environment;
+    private final Map<String, String> fileProperties;
+    private final Map<String, String> overrides = new ConcurrentHashMap<>();
+
+    private TestConfig(Map<String, String> systemProperties, Map<String, String> environment, Map<String, String> fileProperties) {
+        this.systemProperties = Map.copyOf(systemProperties);
+        this.environment = Map.copyOf(environment);
+        this.fileProperties = Map.copyOf(fileProperties);
+        validate();
+    }
+
+    /**
+     * @return The JVM-wide configuration snapshot, created on first use
+     * @throws IllegalStateException if config.properties is missing or a value is invalid
+     */
+    public static TestConfig get() {
+        TestConfig config = instance;
+        if (config == null) {
+            synchronized (TestConfig.class) {
+                config = instance;
+                if (config == null) {
+                    config = load();
+                    instance = config;
+                }
+            }
+        }
+        return config;
+    }
+
+    /**
+     * @param key Configuration key
+     * @return The resolved value, or null if the key is not set anywhere
+     */
+    public String getString(String key) {
+        String value = overrides.get(key);
+        if (value == null) {
+            value = systemProperties.get(key);
+        }
+        if (value == null) {
+            value = environment.get(toEnvironmentName(key));
+        }
+        if (value == null && UNPREFIXED_ENVIRONMENT_KEYS.contains(key)) {
+            value = environment.get(toEnvironmentName(key).substring(ENVIRONMENT_PREFIX.length()));
+        }
+        if (value == null) {
+            value = fileProperties.get(key);
+        }
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    public String getString(String key, String defaultValue) {
+        String value = getString(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * @param key Configuration key
+     * @return The resolved value
+     * @throws IllegalStateException if the key is not set anywhere
+     */
+    public String getRequiredString(String key) {
+        String value = getString(key);
+        if (value == null) {
+            throw new IllegalStateException("Missing required configuration '" + key + "': set it in " + CONFIG_FILE
+                    + ", as -D" + key + " or as environment variable " + toEnvironmentName(key));
+        }
+        return value;
+    }
+
+    public int getInt(String key, int defaultValue) {
+        String value = getString(key);
+        return value != null ? parseInt(key, value) : defaultValue;
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = getString(key);
+        return value != null ? parseBoolean(key, value) : defaultValue;
+    }
+
+    /**
+     * Read a duration. Accepted formats are ISO-8601 ("PT1.5S"), milliseconds ("500ms"),
+     * seconds ("10s") and a plain number, which is read as seconds.
+     *
+     * @param key          Configuration key
+     * @param defaultValue Value used when the key is not set
+     * @return The resolved duration
+     */
+    public Duration getDuration(String key, Duration defaultValue) {
+        String value = getString(key);
+        return value != null ? parseDuration(key, value) : defaultValue;
+    }
+
+    /**
+     * Override a key for the rest of the run, ahead of every other source. Meant for values only known at
+     * runtime, such as the address of a server started by the framework; user settings belong in the other sources.
+     *
+     * @param key   Configuration key
+     * @param value Value to use
+     */
+    public void override(String key, String value) {
+        overrides.put(key, value);
+    }
+
+    /**
+     * Remove a runtime override, restoring the configured value.
+     *
+     * @param key Configuration key
+     */
+    public void clearOverride(String key) {
+        overrides.remove(key);
+    }
+
+    /**
+     * @return The browser to run tests on
+     * @throws IllegalStateException if {@code browser} is not set
+     */
+    public Browser getBrowser() {
+        return Browser.fromString(getRequiredString("browser"));
+    }
+
+    /**
+     * Headless mode is read from {@code headless} (kept for {@code -Dheadless=true}) and then {@code headless_mode}.
+     *
+     * @return True if browsers should run headless
+     */
+    public boolean isHeadless() {
+        return getBoolean("headless", getBoolean("headless_mode", false));
+    }
+
+    /**
+     * @return True when running in a CI/CD pipeline (the {@code CI} environment variable is true)
+     */
+    public boolean isCi() {
+        return getBoolean("ci", false);
+    }
+
+    private void validate() {
+        getBrowser();
+        for (String key : INT_KEYS) {
+            getInt(key, 0);
+        }
+        for (String key : BOOLEAN_KEYS) {
+            getBoolean(key, false);
+        }
+    }
+
+    private static TestConfig load() {
+        Properties properties = new Properties();
+        try (InputStream input = TestConfig.class.getClassLoader().getResourceAsStream(CONFIG_FILE)) {
+            if (input == null) {
+                throw new IOException("Unable to find " + CONFIG_FILE);
+            }
+            properties.load(input);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load " + CONFIG_FILE, e);
+        }
+
+        Map<String, String> fileProperties = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            fileProperties.put(key, properties.getProperty(key).trim());
+        }
+        Map<String, String> systemProperties = new HashMap<>();
+        for (String key : System.getProperties().stringPropertyNames()) {
+            systemProperties.put(key, System.getProperty(key));
+        }
+        return new TestConfig(systemProperties, System.getenv(), fileProperties);
+    }
+
+    private static String toEnvironmentName(String key) {
+        StringBuilder name = new StringBuilder(ENVIRONMENT_PREFIX);
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            name.append(Character.isLetterOrDigit(c) ? Character.toUpperCase(c) : '_');
+        }
+        return name.toString();
+    }
+
+    private static int parseInt(String key, String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Configuration '" + key + "' must be an integer: " + value);
+        }
+    }
+
+    private static boolean parseBoolean(String key, String value) {
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        if (!normalized.equals("true") && !normalized.equals("false")) {
+            throw new IllegalStateException("Configuration '" + key + "' must be true or false: " + value);
+        }
+        return Boolean.parseBoolean(normalized);
+    }
+
+    private static Duration parseDuration(String key, String value) {
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        try {
+            if (normalized.startsWith("pt")) {
+                return Duration.parse(normalized);
+            }
+            if (normalized.endsWith("ms")) {
+                return Duration.ofMillis(Long.parseLong(normalized.substring(0, normalized.length() - 2).trim()));
+            }
+            if (normalized.endsWith("s")) {
+                return Duration.ofSeconds(Long.parseLong(normalized.substring(0, normalized.length() - 1).trim()));
+            }
+            return Duration.ofSeconds(Long.parseLong(normalized));
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Configuration '" + key + "' must be a duration (e.g. 500ms, 10s, PT1.5S): " + value);
+        }
+    }
+}
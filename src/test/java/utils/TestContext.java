@@ -0,0 +1,105 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Per-thread registry of the browser session and helpers owned by the running test.
+ * <p>
+ * InitialiseTest registers a context in setUp and clears it in tearDown, so tests and page objects
+ * running on different TestNG threads never see each other's driver.
+ */
+public final class TestContext {
+
+    private static final ThreadLocal<TestContext> CURRENT = new ThreadLocal<>();
+
+    private final WebDriver driver;
+    private final BrowserUtil browserUtil;
+    private final String testName;
+    private final boolean sessionReuse;
+
+    private TestContext(WebDriver driver, String testName, boolean sessionReuse) {
+        this.driver = driver;
+        this.browserUtil = new BrowserUtil(driver);
+        this.testName = testName;
+        this.sessionReuse = sessionReuse;
+    }
+
+    /**
+     * Register the session for the test running on the current thread.
+     *
+     * @param driver   WebDriver instance owned by the test
+     * @param testName Name of the test, used for logs and artifacts
+     * @return The registered context
+     */
+    public static TestContext start(WebDriver driver, String testName) {
+        return start(driver, testName, false);
+    }
+
+    /**
+     * Register the session for the test running on the current thread.
+     *
+     * @param driver       WebDriver instance owned by the test
+     * @param testName     Name of the test, used for logs and artifacts
+     * @param sessionReuse Whether the test may log in with a cached session, see {@link SessionCache}
+     * @return The registered context
+     */
+    public static TestContext start(WebDriver driver, String testName, boolean sessionReuse) {
+        TestContext context = new TestContext(driver, testName, sessionReuse);
+        CURRENT.set(context);
+        return context;
+    }
+
+    /**
+     * @return The context of the test running on the current thread
+     * @throws IllegalStateException if no test is running on this thread
+     */
+    public static TestContext current() {
+        TestContext context = CURRENT.get();
+        if (context == null) {
+            throw new IllegalStateException("No test context registered for thread: " + Thread.currentThread().getName());
+        }
+        return context;
+    }
+
+    /**
+     * @return True if a test context is registered on the current thread
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Shortcut for {@code TestContext.current().getDriver()}.
+     *
+     * @return WebDriver of the test running on the current thread
+     */
+    public static WebDriver driver() {
+        return current().getDriver();
+    }
+
+    /**
+     * Remove the context of the current thread. Called once the session has been released.
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    public BrowserUtil getBrowserUtil() {
+        return browserUtil;
+    }
+
+    public String getTestName() {
+        return testName;
+    }
+
+    /**
+     * @return True if the test opted in to logging in with a cached session
+     */
+    public boolean isSessionReuse() {
+        return sessionReuse;
+    }
+}
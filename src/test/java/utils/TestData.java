@@ -0,0 +1,171 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reproducible random test data.
+ * <p>
+ * All values derive from one seed per run, {@code -Dtest.seed=N}, or a random seed that is logged and written to
+ * the Allure environment, so a failing data combination can be replayed exactly with {@code -Dtest.seed}.
+ * <p>
+ * Records of a named data set are generated from their own {@link SplittableRandom}, derived from the seed, the
+ * set's name and the record's index. A record is therefore the same whichever thread generates it and in whatever
+ * order, and no generator shares mutable state with another thread. {@link #rows} streams records into a
+ * {@code @DataProvider(parallel = true)} one at a time instead of building the whole array up front.
+ */
+public final class TestData {
+
+    private static final Logger logger = LogManager.getLogger(TestData.class);
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final AtomicInteger threadStreams = new AtomicInteger();
+    private static final ThreadLocal<SplittableRandom> threadRandom = ThreadLocal.withInitial(
+            () -> new SplittableRandom(derive(getSeed(), "thread", threadStreams.getAndIncrement())));
+
+    private static volatile boolean seedUsed;
+
+    private TestData() {
+    }
+
+    /**
+     * Resolved on first use, without locking, by loading this class.
+     */
+    private static final class Seed {
+        private static final long VALUE = resolve();
+
+        private static long resolve() {
+            String configured = System.getProperty("test.seed");
+            long seed;
+            if (configured == null || configured.isBlank()) {
+                seed = ThreadLocalRandom.current().nextLong();
+            } else {
+                try {
+                    seed = Long.parseLong(configured.trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("test.seed must be a long: " + configured);
+                }
+            }
+            logger.info("Test data seed: {} (replay with -Dtest.seed={})", seed, seed);
+            return seed;
+        }
+    }
+
+    /**
+     * @return The seed all test data of this run derives from
+     */
+    public static long getSeed() {
+        seedUsed = true;
+        return Seed.VALUE;
+    }
+
+    /**
+     * A stream of the current thread, for values that need not be replayed individually. Reproducible for
+     * a given seed only when the same threads draw in the same order.
+     *
+     * @return The random stream of the current thread
+     */
+    public static SplittableRandom random() {
+        return threadRandom.get();
+    }
+
+    /**
+     * @param name  Name of the data set
+     * @param index Index of the record in the set
+     * @return A new random stream only the record draws from, the same for every run with this seed
+     */
+    public static SplittableRandom stream(String name, long index) {
+        return new SplittableRandom(derive(getSeed(), name, index));
+    }
+
+    /**
+     * Generate the single record of a data set, e.g. the customer of one test.
+     *
+     * @param name      Name of the data set, unique to the test using it
+     * @param generator Generator of the records
+     * @return The record, the same for every run with this seed
+     */
+    public static <T> T generate(String name, DataGenerator<T> generator) {
+        return generator.generate(stream(name, 0));
+    }
+
+    /**
+     * Stream records to a data provider, generating each one only when TestNG asks for it.
+     *
+     * @param name      Name of the data set, unique to the data provider
+     * @param count     Number of records
+     * @param generator Generator of the records
+     * @return The rows, each holding one record
+     */
+    public static <T> Iterator<Object[]> rows(String name, int count, DataGenerator<T> generator) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Row count must not be negative: " + count);
+        }
+        return new Iterator<>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < count;
+            }
+
+            @Override
+            public Object[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException(name + " has only " + count + " rows");
+                }
+                return new Object[]{generator.generate(stream(name, index++))};
+            }
+        };
+    }
+
+    /**
+     * Add the seed to the Allure environment, if any test data was generated, so the report shows how to
+     * replay the run.
+     *
+     * @param resultsDirectory Allure results directory
+     */
+    public static void writeSeedTo(Path resultsDirectory) throws IOException {
+        if (!seedUsed) {
+            return;
+        }
+        Path environmentFile = resultsDirectory.resolve("environment.properties");
+        Properties environment = new Properties();
+        if (Files.exists(environmentFile)) {
+            try (InputStream input = Files.newInputStream(environmentFile)) {
+                environment.load(input);
+            }
+        }
+        environment.setProperty("test.seed", String.valueOf(Seed.VALUE));
+        Files.createDirectories(resultsDirectory);
+        try (OutputStream output = Files.newOutputStream(environmentFile)) {
+            environment.store(output, null);
+        }
+    }
+
+    /**
+     * Seed of a record stream: the run's seed, the data set and the index, scrambled with the SplitMix64 finalizer.
+     * String hash codes are fixed by the language, so the result is the same in every JVM.
+     */
+    private static long derive(long seed, String name, long index) {
+        return mix(mix(seed + GOLDEN_GAMMA * name.hashCode()) + GOLDEN_GAMMA * index);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
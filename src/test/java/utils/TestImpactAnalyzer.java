@@ -0,0 +1,220 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Finds the test classes a set of changed files can affect, from a dependency graph read from the sources.
+ * <p>
+ * The graph links the classes in {@code tests} and {@code pageobjects} to the classes of those packages they
+ * name, e.g. the page objects a test instantiates and the page a page object extends, and to the locator files
+ * they name: the file a page returns from {@code getPageJsonFileName()}, files passed to
+ * {@code PageReadiness.forPage()}, and the file behind each generated {@code XLocators} constant class.
+ * Names in comments are ignored, so a Javadoc example does not create a dependency.
+ * <p>
+ * Changes to anything else under {@code src}, e.g. framework code in {@code utils}, the suite or the pom,
+ * select the full suite, as do deleted graph files, whose dependents the graph no longer knows.
+ */
+public final class TestImpactAnalyzer {
+
+    static final String TEST_SOURCES = "src/test/java/";
+    static final String LOCATOR_FILES = "src/test/resources/locators/";
+    private static final List<String> GRAPH_PACKAGES = List.of("tests", "pageobjects");
+
+    private static final Pattern TYPE_NAME = Pattern.compile("\\b[A-Z][A-Za-z0-9_]*\\b");
+    private static final Pattern LOCATOR_CONSTANTS = Pattern.compile("\\b([A-Z][A-Za-z0-9_]*)Locators\\b");
+    private static final Pattern JSON_LITERAL = Pattern.compile("\"([\\w.-]+\\.json)\"");
+
+    private final Path baseDirectory;
+    private final Map<String, Set<String>> dependencies = new HashMap<>();  // Repository path to the paths it names
+    private final Set<String> testSources = new TreeSet<>();
+
+    /**
+     * Outcome of a selection: the full suite, or the test classes the changes can affect.
+     */
+    public static final class Selection {
+        private final boolean fullSuite;
+        private final String reason;
+        private final Set<String> testClasses;
+
+        private Selection(boolean fullSuite, String reason, Set<String> testClasses) {
+            this.fullSuite = fullSuite;
+            this.reason = reason;
+            this.testClasses = testClasses;
+        }
+
+        public boolean isFullSuite() {
+            return fullSuite;
+        }
+
+        /**
+         * @return Why the full suite was selected, null for a partial selection
+         */
+        public String getReason() {
+            return reason;
+        }
+
+        /**
+         * @return Fully qualified names of the affected test classes, empty for the full suite
+         */
+        public Set<String> getTestClasses() {
+            return testClasses;
+        }
+    }
+
+    private TestImpactAnalyzer(Path baseDirectory) {
+        this.baseDirectory = baseDirectory;
+    }
+
+    /**
+     * Read the dependency graph from the sources and locator files of a project.
+     *
+     * @param baseDirectory Project directory
+     * @return The analyzer for the project
+     */
+    public static TestImpactAnalyzer scan(Path baseDirectory) throws IOException {
+        TestImpactAnalyzer analyzer = new TestImpactAnalyzer(baseDirectory);
+        Map<String, Set<String>> sources = new HashMap<>();  // Simple class name to source paths
+        Map<String, String> contents = new HashMap<>();
+        for (String graphPackage : GRAPH_PACKAGES) {
+            Path root = baseDirectory.resolve(TEST_SOURCES + graphPackage);
+            if (!Files.isDirectory(root)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.walk(root)) {
+                for (Path file : files.filter(path -> path.toString().endsWith(".java")).collect(Collectors.toList())) {
+                    String path = analyzer.relative(file);
+                    String name = file.getFileName().toString().replace(".java", "");
+                    sources.computeIfAbsent(name, key -> new TreeSet<>()).add(path);
+                    contents.put(path, stripComments(Files.readString(file, StandardCharsets.UTF_8)));
+                }
+            }
+        }
+        contents.forEach((path, content) -> {
+            Set<String> named = new TreeSet<>();
+            Matcher typeName = TYPE_NAME.matcher(content);
+            while (typeName.find()) {
+                named.addAll(sources.getOrDefault(typeName.group(), Set.of()));
+            }
+            Matcher constants = LOCATOR_CONSTANTS.matcher(content);
+            while (constants.find()) {
+                named.add(LOCATOR_FILES + constants.group(1) + ".json");
+            }
+            Matcher jsonFile = JSON_LITERAL.matcher(content);
+            while (jsonFile.find()) {
+                named.add(LOCATOR_FILES + jsonFile.group(1));
+            }
+            named.remove(path);
+            analyzer.dependencies.put(path, named);
+            if (path.startsWith(TEST_SOURCES + "tests/") && content.contains("@Test")) {
+                analyzer.testSources.add(path);
+            }
+        });
+        return analyzer;
+    }
+
+    /**
+     * @param changedPaths Paths relative to the project directory, with forward slashes
+     * @return The test classes the changes can affect, or the full suite
+     */
+    public Selection select(Collection<String> changedPaths) {
+        Set<String> changed = new HashSet<>();
+        for (String path : changedPaths) {
+            boolean inGraph = path.startsWith(LOCATOR_FILES) || GRAPH_PACKAGES.stream()
+                    .anyMatch(graphPackage -> path.startsWith(TEST_SOURCES + graphPackage + "/"));
+            if (inGraph && !Files.exists(baseDirectory.resolve(path))) {
+                return new Selection(true, path + " was deleted", Set.of());
+            }
+            if (!inGraph && (path.startsWith("src/") || path.equals("pom.xml"))) {
+                return new Selection(true, path + " is framework code or build configuration", Set.of());
+            }
+            if (inGraph) {
+                changed.add(path);
+            }
+        }
+        Set<String> testClasses = new TreeSet<>();
+        for (String test : testSources) {
+            Set<String> closure = dependenciesOf(test);
+            closure.add(test);
+            if (closure.stream().anyMatch(changed::contains)) {
+                testClasses.add(test.substring(TEST_SOURCES.length(), test.length() - ".java".length()).replace('/', '.'));
+            }
+        }
+        return new Selection(false, null, testClasses);
+    }
+
+    /**
+     * @param path Source path relative to the project directory
+     * @return Every source and locator file the source depends on, directly or through other sources
+     */
+    public Set<String> dependenciesOf(String path) {
+        Set<String> closure = new LinkedHashSet<>();
+        Deque<String> pending = new ArrayDeque<>(dependencies.getOrDefault(path, Set.of()));
+        while (!pending.isEmpty()) {
+            String next = pending.poll();
+            if (closure.add(next)) {
+                pending.addAll(dependencies.getOrDefault(next, Set.of()));
+            }
+        }
+        return closure;
+    }
+
+    /**
+     * @return Source paths of the classes with tests
+     */
+    public List<String> getTestSources() {
+        return new ArrayList<>(testSources);
+    }
+
+    private String relative(Path file) {
+        return baseDirectory.relativize(file).toString().replace('\\', '/');
+    }
+
+    /**
+     * Remove line and block comments, keeping string and character literals intact.
+     */
+    static String stripComments(String source) {
+        StringBuilder code = new StringBuilder(source.length());
+        int i = 0;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            if (c == '"' || c == '\'') {
+                int end = i + 1;
+                while (end < source.length() && source.charAt(end) != c) {
+                    end += source.charAt(end) == '\\' ? 2 : 1;
+                }
+                end = Math.min(end + 1, source.length());
+                code.append(source, i, end);
+                i = end;
+            } else if (source.startsWith("//", i)) {
+                int end = source.indexOf('\n', i);
+                i = end < 0 ? source.length() : end;
+            } else if (source.startsWith("/*", i)) {
+                int end = source.indexOf("*/", i + 2);
+                i = end < 0 ? source.length() : end + 2;
+                code.append(' ');
+            } else {
+                code.append(c);
+                i++;
+            }
+        }
+        return code.toString();
+    }
+}
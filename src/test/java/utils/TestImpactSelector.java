@@ -0,0 +1,103 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Writes a TestNG suite with only the test classes affected by the changes since a git revision,
+ * as found by {@link TestImpactAnalyzer}.
+ * <p>
+ * Started by the {@code impact} Maven profile ({@code mvn test -Pimpact -Dimpact.base=origin/main}), which then
+ * runs the written suite, {@code target/impact/testng-impact.xml}. Changes are the files that differ between the
+ * working tree and {@code impact.base} (default {@code HEAD}), plus untracked files. The suite is the one in
+ * {@code impact.suite} (default {@code src/test/resources/testng.xml}), unchanged when the full suite is
+ * selected and otherwise with one test of the affected classes, keeping its listeners and parallel mode.
+ */
+public final class TestImpactSelector {
+
+    private static final Logger logger = LogManager.getLogger(TestImpactSelector.class);
+
+    private TestImpactSelector() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path baseDirectory = Paths.get(System.getProperty("basedir", System.getProperty("user.dir")));
+        String base = System.getProperty("impact.base", "HEAD");
+        Path suiteFile = baseDirectory.resolve(System.getProperty("impact.suite", "src/test/resources/testng.xml"));
+        Path output = baseDirectory.resolve("target/impact/testng-impact.xml");
+
+        Set<String> changed = new TreeSet<>(git(baseDirectory, "diff", "--name-only", "--relative", base));
+        changed.addAll(git(baseDirectory, "ls-files", "--others", "--exclude-standard"));
+        XmlSuite suite = ShardPlanner.readSuite(suiteFile);
+        TestImpactAnalyzer.Selection selection = TestImpactAnalyzer.scan(baseDirectory).select(changed);
+        logger.info("{} files changed since {}.", changed.size(), base);
+
+        XmlSuite selected;
+        if (selection.isFullSuite()) {
+            logger.info("Running the full suite: {}", selection.getReason());
+            selected = suite;
+        } else {
+            Set<String> suiteClasses = ShardPlanner.listTests(suite).stream()
+                    .map(test -> test.substring(0, test.lastIndexOf('.')))
+                    .collect(Collectors.toCollection(TreeSet::new));
+            List<XmlClass> classes = new ArrayList<>();
+            for (String testClass : selection.getTestClasses()) {
+                if (suiteClasses.contains(testClass)) {
+                    classes.add(new XmlClass(testClass, false));
+                }
+            }
+            logger.info("Running {} of {} test classes: {}", classes.size(), suiteClasses.size(),
+                    classes.stream().map(XmlClass::getName).collect(Collectors.toList()));
+            selected = partialSuite(suite, classes);
+        }
+        Files.createDirectories(output.getParent());
+        Files.writeString(output, selected.toXml(), StandardCharsets.UTF_8);
+        logger.info("Suite written to {}", output);
+    }
+
+    private static XmlSuite partialSuite(XmlSuite template, List<XmlClass> classes) {
+        XmlSuite suite = new XmlSuite();
+        suite.setName(template.getName() + " (affected tests)");
+        suite.setParallel(template.getParallel());
+        suite.setThreadCount(template.getThreadCount());
+        suite.setListeners(new ArrayList<>(template.getListeners()));
+        suite.setParameters(template.getParameters());
+        XmlTest test = new XmlTest(suite);
+        test.setName("Affected tests");
+        test.setXmlClasses(classes);
+        return suite;
+    }
+
+    private static List<String> git(Path directory, String... arguments) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(List.of(arguments));
+        Process process = new ProcessBuilder(command).directory(directory.toFile())
+                .redirectError(ProcessBuilder.Redirect.INHERIT)  // Keeps warnings out of the file list
+                .start();
+        List<String> lines;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            lines = reader.lines().filter(line -> !line.isBlank()).collect(Collectors.toList());
+        }
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("git " + String.join(" ", arguments) + " failed in " + directory);
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,114 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.appender.routing.RoutingAppender;
+import org.apache.logging.log4j.core.async.AsyncLoggerContext;
+import org.apache.logging.log4j.core.jmx.RingBufferAdmin;
+import org.apache.logging.log4j.spi.LoggerContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-test log files written by the routing appender of {@code log4j2-async.xml} (the async-logging profile),
+ * one file per test invocation under {@code target/logs/tests}, named after the "testLog" thread context value.
+ * Each invocation, including every retry and data provider row, gets its own key and so its own file, which
+ * is attached to the report and closed when the invocation ends. Without that configuration nothing is attached.
+ */
+public final class TestLogs {
+
+    private static final Logger logger = LogManager.getLogger(TestLogs.class);
+
+    private static final String ASYNC_CONTEXT_CLASS = "org.apache.logging.log4j.core.async.AsyncLoggerContext";
+    private static final String ROUTING_APPENDER = "TestRoutingAppender";
+    private static final String LOG_KEY = "testLog";
+
+    private static final AtomicLong invocations = new AtomicLong();
+
+    /** Longest time to wait for queued log events to reach the file before attaching it. */
+    private static final Duration DRAIN_TIMEOUT = Duration.ofMillis(500);
+
+    private TestLogs() {
+    }
+
+    /**
+     * Route the current thread's log events to a new file for a test invocation starting on it.
+     *
+     * @param testName "Class.method" of the test
+     */
+    public static void start(String testName) {
+        ThreadContext.put(LOG_KEY, testName + "-" + invocations.incrementAndGet());
+    }
+
+    /**
+     * @param logKey Value of the "testLog" thread context
+     * @return The path the routing appender writes the invocation's log to
+     */
+    public static Path logFile(String logKey) {
+        return Paths.get(System.getProperty("user.dir"), "target", "logs", "tests", logKey + ".log");
+    }
+
+    /**
+     * Attach the log file of the invocation running on the current thread to the Allure report and close it,
+     * if per-test logging is configured. With async loggers, first waits briefly for queued events to be written.
+     */
+    public static void attachToReport() {
+        String logKey = ThreadContext.get(LOG_KEY);
+        RoutingAppender routing = routingAppender();
+        if (logKey == null || routing == null) {
+            return;
+        }
+        awaitAsyncLoggers();
+        Path file = logFile(logKey);
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        try {
+            StepRecorder.attach("Test log", "text/plain", Files.readAllBytes(file), ".log");
+        } catch (IOException e) {
+            logger.warn("Failed to attach test log {}: {}", file, e.getMessage());
+        } finally {
+            routing.deleteAppender(logKey);  // The key is never used again, so do not keep the file open until purged
+        }
+    }
+
+    /**
+     * @return The per-test routing appender of the active logging configuration, or null without one
+     */
+    private static RoutingAppender routingAppender() {
+        if (!(LogManager.getContext(false) instanceof org.apache.logging.log4j.core.LoggerContext context)) {
+            return null;
+        }
+        Appender appender = context.getConfiguration().getAppender(ROUTING_APPENDER);
+        return appender instanceof RoutingAppender ? (RoutingAppender) appender : null;
+    }
+
+    /**
+     * Wait until the async loggers' ring buffer is empty. Other tests may keep logging in parallel runs,
+     * so the wait is bounded; events still queued then miss the attachment but not the file.
+     */
+    private static void awaitAsyncLoggers() {
+        LoggerContext context = LogManager.getContext(false);
+        // Compared by name so the Disruptor classes are only touched when async loggers are in use
+        if (!context.getClass().getName().equals(ASYNC_CONTEXT_CLASS)) {
+            return;
+        }
+        RingBufferAdmin ringBuffer = ((AsyncLoggerContext) context).createRingBufferAdmin();
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (ringBuffer.getRemainingCapacity() < ringBuffer.getBufferSize() && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
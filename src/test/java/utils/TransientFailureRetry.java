@@ -0,0 +1,47 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+
+/**
+ * Retries a test only when {@link FailureClassifier} calls its failure transient, at most {@code -Dretries} times
+ * (default 1). Assertion failures fail at once.
+ * <p>
+ * Set on every test without its own retry analyzer by {@link RetryListener}. TestNG keeps one instance per
+ * test method and parameter set, so the attempt count spans the retries of one invocation.
+ */
+public class TransientFailureRetry implements IRetryAnalyzer {
+
+    private static final Logger logger = LogManager.getLogger(TransientFailureRetry.class);
+
+    private int retries;
+
+    @Override
+    public boolean retry(ITestResult result) {
+        FailureClassifier.FailureType type = FailureClassifier.classify(result.getThrowable());
+        int maxRetries = getMaxRetries();
+        if (!type.isRetryable() || retries >= maxRetries) {
+            return false;
+        }
+        retries++;
+        logger.warn("Retrying {}.{} ({} of {}) after {} failure: {}", result.getTestClass().getRealClass().getSimpleName(),
+                result.getMethod().getMethodName(), retries, maxRetries, type, String.valueOf(result.getThrowable()));
+        return true;
+    }
+
+    /**
+     * @return Number of times the current invocation has been retried
+     */
+    public int getRetries() {
+        return retries;
+    }
+
+    /**
+     * @return Retries allowed per test invocation, from {@code -Dretries}
+     */
+    public static int getMaxRetries() {
+        return Integer.getInteger("retries", 1);
+    }
+}
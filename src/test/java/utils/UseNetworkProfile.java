@@ -0,0 +1,32 @@
+package utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Network profile for a test method or all tests of a class, instead of the suite's {@code network_profile}.
+ * <pre>
+ * &#64;UseNetworkProfile(value = "functional-only", urls = "*cdn.example.com*")
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface UseNetworkProfile {
+
+    /**
+     * @return Preset to start from, "none" or "functional-only"
+     */
+    String value();
+
+    /**
+     * @return Additional CDP resource types to block, e.g. "Stylesheet"
+     */
+    String[] types() default {};
+
+    /**
+     * @return Additional URL patterns to block, with {@code *} as wildcard
+     */
+    String[] urls() default {};
+}
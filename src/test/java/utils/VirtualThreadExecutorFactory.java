@@ -0,0 +1,192 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IExecutorServiceFactory;
+import org.testng.internal.ObjectBag;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs TestNG's parallel test methods on virtual threads, one new thread per method, so a test blocked on a
+ * remote WebDriver call holds no platform thread.
+ * <p>
+ * With one thread per method the thread count no longer limits concurrency. A fair semaphore does instead,
+ * sized to {@code remote_capacity}, the number of sessions the remote browser farm accepts at once, or to the
+ * suite's thread count when that is not set. A test holds its permit from {@code @BeforeMethod} to
+ * {@code @AfterMethod}, so it never waits for a browser slot while holding one.
+ * <p>
+ * Test context stays per test: the virtual threads do not inherit inheritable thread locals from the TestNG
+ * thread that starts them, so the driver ({@link TestContext}), the log4j context and the Allure lifecycle
+ * are set up by each test on its own thread and end with it.
+ * <p>
+ * Enabled with {@code -Dvirtual.threads=true}: {@link ParallelSuiteListener} then installs the executor as the
+ * suite's global thread pool. With the TestNG command line, {@code -threadpoolfactoryclass} works as well.
+ * Virtual threads need Java 21; on older runtimes the tests run on TestNG's usual platform thread pool.
+ */
+public class VirtualThreadExecutorFactory implements IExecutorServiceFactory {
+
+    private static final Logger logger = LogManager.getLogger(VirtualThreadExecutorFactory.class);
+
+    private static volatile int capacity;  // 0 until configured
+
+    /**
+     * @param sessions Tests allowed to run at the same time, 0 for the suite's thread count
+     */
+    public static void setCapacity(int sessions) {
+        if (sessions < 0) {
+            throw new IllegalArgumentException("Remote capacity must not be negative: " + sessions);
+        }
+        capacity = sessions;
+    }
+
+    /**
+     * Make TestNG run all tests of a suite on virtual threads, by handing it the executor as the suite's global
+     * thread pool. Does nothing before Java 21.
+     *
+     * @param suite Suite about to run
+     */
+    public static void install(XmlSuite suite) {
+        ThreadFactory virtualThreads = virtualThreadFactory();
+        if (virtualThreads == null) {
+            logger.warn("Virtual threads need Java 21 or later, running tests on {} platform threads.", suite.getThreadCount());
+            return;
+        }
+        suite.shouldUseGlobalThreadPool(true);  // Every test of the suite then takes its executor from the suite's bag
+        ObjectBag.getInstance(suite).createIfRequired(ExecutorService.class,
+                () -> new LimitedThreadPerTaskExecutor(virtualThreads, suite.getThreadCount()));
+    }
+
+    @Override
+    public ExecutorService create(int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit,
+                                  BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory) {
+        ThreadFactory virtualThreads = virtualThreadFactory();
+        if (virtualThreads == null) {
+            logger.warn("Virtual threads need Java 21 or later, running tests on {} platform threads.", corePoolSize);
+            return new ThreadPoolExecutor(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory);
+        }
+        return new LimitedThreadPerTaskExecutor(virtualThreads, corePoolSize);
+    }
+
+    /**
+     * @return A factory of virtual threads that do not inherit inheritable thread locals, or null before Java 21
+     */
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            // Reflection keeps the sources compiling for Java 17
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, "TestNG-virtual-", 1L);
+            builder = builderType.getMethod("inheritInheritableThreadLocals", boolean.class).invoke(builder, false);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;  // Missing, or a preview feature that is not enabled
+        }
+    }
+
+    /**
+     * Starts a new thread per task; at most {@code remote_capacity} tasks run at once, the others wait in start order.
+     */
+    private static final class LimitedThreadPerTaskExecutor extends AbstractExecutorService {
+        private final ThreadFactory threadFactory;
+        private final int defaultPermits;
+        private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        private volatile Semaphore permits;
+
+        private LimitedThreadPerTaskExecutor(ThreadFactory threadFactory, int defaultPermits) {
+            this.threadFactory = threadFactory;
+            this.defaultPermits = Math.max(defaultPermits, 1);
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            Semaphore permits = getPermits();
+            Thread thread = threadFactory.newThread(() -> {
+                try {
+                    permits.acquire();
+                    try {
+                        task.run();
+                    } finally {
+                        permits.release();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();  // Stopped while waiting for a permit
+                } finally {
+                    threads.remove(Thread.currentThread());
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        /**
+         * Sized on the first test rather than on creation, which comes before {@code @BeforeSuite} reads the configuration.
+         */
+        private Semaphore getPermits() {
+            Semaphore current = permits;
+            if (current == null) {
+                synchronized (this) {
+                    if (permits == null) {
+                        int sessions = capacity > 0 ? capacity : defaultPermits;
+                        permits = new Semaphore(sessions, true);
+                        logger.info("Running tests on virtual threads, at most {} at a time.", sessions);
+                    }
+                    current = permits;
+                }
+            }
+            return current;
+        }
+
+        /*
+         * TestNG shuts the suite's global pool down after each <test> and then hands it to the next one, so
+         * shutting down only interrupts the tasks still running; the executor keeps accepting new ones.
+         */
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            threads.forEach(Thread::interrupt);
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        /**
+         * Wait for the tasks started so far.
+         *
+         * @return True if they all finished in time
+         */
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            for (Thread thread : threads) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                TimeUnit.NANOSECONDS.timedJoin(thread, remaining);
+            }
+            return threads.isEmpty();
+        }
+    }
+}
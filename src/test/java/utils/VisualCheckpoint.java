@@ -0,0 +1,106 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.imageio.ImageIO;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Checks screenshots against baseline images stored per browser under {@code visual_baseline_dir}
+ * (default {@code src/test/resources/visual-baselines/<browser>/<page>/<name>.png}).
+ * <p>
+ * A screenshot identical to its baseline byte for byte passes without decoding either image; otherwise the
+ * {@link VisualComparator} compares them tile by tile. Differences are attached to the Allure report as a
+ * highlighted diff image next to the screenshot. A missing baseline does not fail the check: the screenshot is
+ * written to {@code target/visual/new-baselines} with the same relative path, ready to be reviewed and copied.
+ */
+public class VisualCheckpoint {
+
+    private static final Logger logger = LogManager.getLogger(VisualCheckpoint.class);
+
+    private final Path baselineDirectory;
+    private final Path newBaselineDirectory;
+    private final VisualComparator comparator;
+    private final long maxChangedPixels;
+
+    public VisualCheckpoint() {
+        TestConfig config = TestConfig.get();
+        String browser = config.getBrowser().name().toLowerCase(Locale.ROOT);
+        Path root = Paths.get(System.getProperty("user.dir"));
+        this.baselineDirectory = root.resolve(config.getString("visual_baseline_dir", "src/test/resources/visual-baselines")).resolve(browser);
+        this.newBaselineDirectory = root.resolve("target").resolve("visual").resolve("new-baselines").resolve(browser);
+        this.comparator = new VisualComparator(
+                config.getInt("visual_tile_size", 32),
+                config.getInt("visual_color_tolerance", 8));
+        this.maxChangedPixels = config.getInt("visual_max_changed_pixels", 0);
+    }
+
+    /**
+     * Compare a screenshot with its baseline.
+     *
+     * @param page       Page the screenshot belongs to, used as the baseline folder
+     * @param name       Checkpoint name, unique within the page
+     * @param screenshot Captured PNG bytes
+     * @param ignore     Regions excluded from the comparison, in screenshot pixels
+     * @throws AssertionError if the screenshot differs from the baseline
+     */
+    public void check(String page, String name, byte[] screenshot, List<Rectangle> ignore) {
+        if (screenshot.length == 0) {
+            throw new IllegalStateException("No screenshot captured for visual checkpoint: " + name);
+        }
+        Path relativePath = Paths.get(page, name + ".png");
+        Path baselineFile = baselineDirectory.resolve(relativePath);
+        try {
+            if (!Files.exists(baselineFile)) {
+                Path newBaseline = newBaselineDirectory.resolve(relativePath);
+                Files.createDirectories(newBaseline.getParent());
+                Files.write(newBaseline, screenshot);
+                StepRecorder.attach("New baseline: " + name, "image/png", screenshot, "png");
+                logger.warn("No baseline for visual checkpoint '{}', screenshot recorded at: {}", name, newBaseline);
+                return;
+            }
+
+            byte[] baseline = Files.readAllBytes(baselineFile);
+            if (Arrays.equals(baseline, screenshot)) {
+                logger.info("Visual checkpoint '{}' is identical to its baseline", name);
+                return;
+            }
+
+            long start = System.nanoTime();
+            VisualComparator.Result result = comparator.compare(decode(baseline, baselineFile.toString()), decode(screenshot, name), ignore);
+            logger.info("Visual checkpoint '{}': {} (compared in {} ms)", name, result, (System.nanoTime() - start) / 1_000_000);
+            if (result.matches(maxChangedPixels)) {
+                return;
+            }
+
+            StepRecorder.attach("Actual: " + name, "image/png", screenshot, "png");
+            if (result.getDiffImage() != null) {
+                ByteArrayOutputStream diff = new ByteArrayOutputStream();
+                ImageIO.write(result.getDiffImage(), "png", diff);
+                StepRecorder.attach("Diff: " + name, "image/png", diff.toByteArray(), "png");
+            }
+            throw new AssertionError("Visual checkpoint '" + name + "' differs from baseline " + baselineFile + ": " + result);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to check visual checkpoint '" + name + "': " + e.getMessage(), e);
+        }
+    }
+
+    private static BufferedImage decode(byte[] png, String description) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) {
+            throw new IOException("Not a readable image: " + description);
+        }
+        return image;
+    }
+}
@@ -0,0 +1,241 @@
+package utils;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Compares a screenshot with its baseline tile by tile.
+ * <p>
+ * Both images are split into square tiles. Each tile is first compared by a 64-bit hash of its pixels, which is
+ * cheap and settles the common case of an unchanged tile; only tiles whose hashes differ are compared pixel by
+ * pixel with a per-channel tolerance, so anti-aliasing noise does not count as a change. Tiles are processed in
+ * parallel on a shared fork-join pool. Pixels inside ignore regions are excluded from both steps.
+ */
+public class VisualComparator {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    private static final int DIFF_COLOR = 0xFFFF0000;  // Changed pixels in the diff image
+
+    private final int tileSize;
+    private final int colorTolerance;
+
+    /**
+     * @param tileSize       Width and height of a tile in pixels
+     * @param colorTolerance Largest difference per color channel (0-255) still treated as equal
+     */
+    public VisualComparator(int tileSize, int colorTolerance) {
+        if (tileSize < 1) {
+            throw new IllegalArgumentException("Tile size must be positive: " + tileSize);
+        }
+        this.tileSize = tileSize;
+        this.colorTolerance = colorTolerance;
+    }
+
+    /**
+     * Outcome of a comparison.
+     */
+    public static final class Result {
+        private final int tiles;
+        private final int changedTiles;
+        private final long changedPixels;
+        private final String sizeMismatch;
+        private final BufferedImage diffImage;
+
+        private Result(int tiles, int changedTiles, long changedPixels, String sizeMismatch, BufferedImage diffImage) {
+            this.tiles = tiles;
+            this.changedTiles = changedTiles;
+            this.changedPixels = changedPixels;
+            this.sizeMismatch = sizeMismatch;
+            this.diffImage = diffImage;
+        }
+
+        public int getTiles() {
+            return tiles;
+        }
+
+        public int getChangedTiles() {
+            return changedTiles;
+        }
+
+        public long getChangedPixels() {
+            return changedPixels;
+        }
+
+        /**
+         * @return A description of differing image sizes, or null if the sizes match
+         */
+        public String getSizeMismatch() {
+            return sizeMismatch;
+        }
+
+        /**
+         * @return The screenshot, dimmed, with changed pixels in red and changed tiles outlined;
+         *         null if nothing changed or the sizes differ
+         */
+        public BufferedImage getDiffImage() {
+            return diffImage;
+        }
+
+        /**
+         * @param maxChangedPixels Number of changed pixels still accepted
+         * @return True if the images match within the allowance
+         */
+        public boolean matches(long maxChangedPixels) {
+            return sizeMismatch == null && changedPixels <= maxChangedPixels;
+        }
+
+        @Override
+        public String toString() {
+            if (sizeMismatch != null) {
+                return sizeMismatch;
+            }
+            return String.format("%d of %d tiles changed, %d pixels", changedTiles, tiles, changedPixels);
+        }
+    }
+
+    /**
+     * Compare a screenshot with its baseline.
+     *
+     * @param baseline Expected image
+     * @param actual   Captured image
+     * @param ignore   Regions excluded from the comparison, in image pixels
+     * @return The comparison result
+     */
+    public Result compare(BufferedImage baseline, BufferedImage actual, List<Rectangle> ignore) {
+        int width = actual.getWidth();
+        int height = actual.getHeight();
+        if (baseline.getWidth() != width || baseline.getHeight() != height) {
+            return new Result(0, 0, 0, String.format("Image size %dx%d differs from baseline %dx%d",
+                    width, height, baseline.getWidth(), baseline.getHeight()), null);
+        }
+
+        int[] expectedPixels = baseline.getRGB(0, 0, width, height, null, 0, width);
+        int[] actualPixels = actual.getRGB(0, 0, width, height, null, 0, width);
+        boolean[] ignored = mask(width, height, ignore);
+
+        int columns = (width + tileSize - 1) / tileSize;
+        int rows = (height + tileSize - 1) / tileSize;
+        int tiles = columns * rows;
+        boolean[] changed = new boolean[tiles];
+        AtomicInteger changedTiles = new AtomicInteger();
+        AtomicLong changedPixels = new AtomicLong();
+        int[] diffPixels = actualPixels.clone();
+
+        try {
+            POOL.submit(() -> IntStream.range(0, tiles).parallel().forEach(tile -> {
+                int x0 = (tile % columns) * tileSize;
+                int y0 = (tile / columns) * tileSize;
+                int x1 = Math.min(x0 + tileSize, width);
+                int y1 = Math.min(y0 + tileSize, height);
+                if (hash(expectedPixels, ignored, width, x0, y0, x1, y1) == hash(actualPixels, ignored, width, x0, y0, x1, y1)) {
+                    return;  // Unchanged tile, no pixel comparison needed
+                }
+                long pixels = 0;
+                for (int y = y0; y < y1; y++) {
+                    for (int x = x0; x < x1; x++) {
+                        int index = y * width + x;
+                        if (!ignored[index] && !similar(expectedPixels[index], actualPixels[index])) {
+                            diffPixels[index] = DIFF_COLOR;
+                            pixels++;
+                        }
+                    }
+                }
+                if (pixels > 0) {
+                    changed[tile] = true;
+                    changedTiles.incrementAndGet();
+                    changedPixels.addAndGet(pixels);
+                }
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while comparing images", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Image comparison failed: " + e.getCause().getMessage(), e.getCause());
+        }
+
+        BufferedImage diffImage = changedTiles.get() == 0 ? null
+                : diffImage(diffPixels, width, height, changed, columns, ignore);
+        return new Result(tiles, changedTiles.get(), changedPixels.get(), null, diffImage);
+    }
+
+    private static boolean[] mask(int width, int height, List<Rectangle> ignore) {
+        boolean[] ignored = new boolean[width * height];
+        for (Rectangle region : ignore) {
+            Rectangle clipped = region.intersection(new Rectangle(0, 0, width, height));
+            for (int y = clipped.y; y < clipped.y + clipped.height; y++) {
+                for (int x = clipped.x; x < clipped.x + clipped.width; x++) {
+                    ignored[y * width + x] = true;
+                }
+            }
+        }
+        return ignored;
+    }
+
+    /**
+     * FNV-1a over the tile's pixels, with ignored pixels hashed as 0.
+     */
+    private static long hash(int[] pixels, boolean[] ignored, int width, int x0, int y0, int x1, int y1) {
+        long hash = 0xcbf29ce484222325L;
+        for (int y = y0; y < y1; y++) {
+            for (int x = x0; x < x1; x++) {
+                int index = y * width + x;
+                hash ^= ignored[index] ? 0 : pixels[index];
+                hash *= 0x100000001b3L;
+            }
+        }
+        return hash;
+    }
+
+    private boolean similar(int expected, int actual) {
+        if (expected == actual) {
+            return true;
+        }
+        for (int shift = 0; shift <= 16; shift += 8) {
+            if (Math.abs(((expected >> shift) & 0xFF) - ((actual >> shift) & 0xFF)) > colorTolerance) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private BufferedImage diffImage(int[] diffPixels, int width, int height, boolean[] changed, int columns, List<Rectangle> ignore) {
+        for (int i = 0; i < diffPixels.length; i++) {
+            if (diffPixels[i] != DIFF_COLOR) {
+                // Dim unchanged pixels so the changes stand out
+                int pixel = diffPixels[i];
+                int r = ((pixel >> 16) & 0xFF) / 3 + 170;
+                int g = ((pixel >> 8) & 0xFF) / 3 + 170;
+                int b = (pixel & 0xFF) / 3 + 170;
+                diffPixels[i] = 0xFF000000 | (r << 16) | (g << 8) | b;
+            }
+        }
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, width, height, diffPixels, 0, width);
+
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(Color.RED);
+            for (int tile = 0; tile < changed.length; tile++) {
+                if (changed[tile]) {
+                    graphics.drawRect((tile % columns) * tileSize, (tile / columns) * tileSize, tileSize - 1, tileSize - 1);
+                }
+            }
+            graphics.setColor(Color.BLUE);
+            for (Rectangle region : ignore) {
+                graphics.drawRect(region.x, region.y, region.width - 1, region.height - 1);
+            }
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+}
@@ -0,0 +1,104 @@
+package utils;
+
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Waits for conditions by polling them with a {@link PollingPolicy}.
+ * <p>
+ * Unlike WebDriverWait, which is built per call and always polls every 500 ms, one engine serves all waits
+ * of a driver and the interval comes from the policy, so fast pages are not penalised and slow pages are
+ * not flooded with findElement calls. Every wait is recorded in {@link WaitMetrics}.
+ */
+public class WaitEngine {
+
+    private static final String DEFAULT_POLICY = "backoff:50ms,2,500ms";
+
+    private static volatile PollingPolicy globalPolicy;
+
+    private final WebDriver driver;
+
+    public WaitEngine(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * The policy used when no per-call policy is given.
+     * Configured with {@code wait_polling}, defaults to {@value #DEFAULT_POLICY}.
+     *
+     * @return The global polling policy
+     */
+    public static PollingPolicy getGlobalPolicy() {
+        PollingPolicy policy = globalPolicy;
+        if (policy == null) {
+            policy = PollingPolicy.parse(TestConfig.get().getString("wait_polling", DEFAULT_POLICY));
+            globalPolicy = policy;
+        }
+        return policy;
+    }
+
+    /**
+     * Replace the global polling policy for all subsequent waits.
+     *
+     * @param policy The new global policy
+     */
+    public static void setGlobalPolicy(PollingPolicy policy) {
+        globalPolicy = policy;
+    }
+
+    /**
+     * Check the condition until it returns a non-null value other than {@code false}, or the timeout expires.
+     * NotFoundException and StaleElementReferenceException thrown by the condition are ignored,
+     * as with WebDriverWait.
+     *
+     * @param name      Condition name used for metrics and the timeout message
+     * @param condition The condition to check
+     * @param timeout   Maximum time to wait
+     * @param policy    Interval between checks
+     * @return The value returned by the condition
+     * @throws TimeoutException if the condition is not met in time
+     */
+    public <T> T until(String name, Function<? super WebDriver, T> condition, Duration timeout, PollingPolicy policy) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        int polls = 0;
+        RuntimeException lastException = null;
+
+        while (true) {
+            polls++;
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    WaitMetrics.record(name, System.nanoTime() - start, polls, false);
+                    return value;
+                }
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                lastException = e;
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                long elapsed = System.nanoTime() - start;
+                WaitMetrics.record(name, elapsed, polls, true);
+                throw new TimeoutException(String.format("Expected condition failed: waiting for %s [%s] (tried for %d ms with %d polls, policy %s)",
+                        name, condition, elapsed / 1_000_000, polls, policy), lastException);
+            }
+            sleep(Math.min(policy.nextInterval(polls).toNanos(), remaining));
+        }
+    }
+
+    private void sleep(long nanos) {
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted while waiting", e);
+        }
+    }
+}
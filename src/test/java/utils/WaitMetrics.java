@@ -0,0 +1,90 @@
+package utils;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JVM-wide statistics of every wait run by the {@link WaitEngine}, grouped by condition.
+ * Recording is lock-free so concurrent tests do not contend on it.
+ */
+public final class WaitMetrics {
+
+    private static final Map<String, ConditionStats> STATS = new ConcurrentHashMap<>();
+
+    private WaitMetrics() {
+    }
+
+    /**
+     * Record one finished wait.
+     *
+     * @param condition   Name of the waited-for condition, e.g. "visibility"
+     * @param elapsedNanos Time the wait took
+     * @param polls       Number of times the condition was checked
+     * @param timedOut    Whether the wait ended with a timeout
+     */
+    public static void record(String condition, long elapsedNanos, int polls, boolean timedOut) {
+        STATS.computeIfAbsent(condition, key -> new ConditionStats()).record(elapsedNanos, polls, timedOut);
+    }
+
+    /**
+     * @return Per-condition statistics as JSON, sorted by condition name
+     */
+    public static JSONObject toJson() {
+        JSONArray conditions = new JSONArray();
+        new TreeMap<>(STATS).forEach((name, stats) -> conditions.put(stats.toJson(name)));
+        return new JSONObject().put("conditions", conditions);
+    }
+
+    /**
+     * Write the statistics collected so far to a JSON file.
+     *
+     * @param file Target file, parent directories are created if needed
+     */
+    public static void writeTo(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, toJson().toString(2), StandardCharsets.UTF_8);
+    }
+
+    private static final class ConditionStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder totalPolls = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAccumulator maxPolls = new LongAccumulator(Math::max, 0);
+
+        private void record(long elapsedNanos, int polls, boolean timedOut) {
+            count.increment();
+            if (timedOut) {
+                timeouts.increment();
+            }
+            totalNanos.add(elapsedNanos);
+            totalPolls.add(polls);
+            maxNanos.accumulate(elapsedNanos);
+            maxPolls.accumulate(polls);
+        }
+
+        private JSONObject toJson(String name) {
+            long waits = count.sum();
+            return new JSONObject()
+                    .put("condition", name)
+                    .put("waits", waits)
+                    .put("timeouts", timeouts.sum())
+                    .put("totalMillis", totalNanos.sum() / 1_000_000)
+                    .put("averageMillis", waits == 0 ? 0 : totalNanos.sum() / waits / 1_000_000.0)
+                    .put("maxMillis", maxNanos.get() / 1_000_000)
+                    .put("averagePolls", waits == 0 ? 0 : (double) totalPolls.sum() / waits)
+                    .put("maxPolls", maxPolls.get());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package utils;
+
+import java.util.Locale;
+
+/**
+ * How {@link WaitUtil} waits for a condition.
+ * Configured globally with {@code wait_mode} or per call with {@link WaitUtil#withMode(WaitMode)}.
+ */
+public enum WaitMode {
+    /** Check the condition from the JVM, one driver round-trip per poll. */
+    POLLING,
+    /** Inject one async script that resolves inside the page as soon as the condition holds. */
+    IN_BROWSER;
+
+    /**
+     * @param value "polling" or "in_browser", ignoring case
+     * @return The matching mode
+     */
+    public static WaitMode fromString(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported wait mode (expected polling or in_browser): " + value);
+        }
+    }
+}
@@ -3,95 +3,175 @@ package utils;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.*;
 
-import java.io.InputStream;
 import java.time.Duration;
-import java.util.Properties;
 
+/**
+ * Explicit waits for elements, alerts and page loads.
+ * All waits run on a {@link WaitEngine}, polling with the global policy (configured with {@code wait_polling})
+ * unless a per-call policy is chosen with {@link #withPolling(PollingPolicy)}.
+ * <p>
+ * In {@link WaitMode#IN_BROWSER} mode (configured with {@code wait_mode} or chosen with {@link #withMode(WaitMode)}),
+ * element visibility, clickability, presence and page load waits run as one in-page script instead;
+ * other waits and unsupported locators still poll.
+ */
 public class WaitUtil {
-    private WebDriver driver;
-    private int defaultTimeout;
+    private static volatile WaitMode globalMode;
+
+    private final WaitEngine engine;
+    private final InBrowserWait inBrowserWait;
+    private final int defaultTimeout;
+    private final PollingPolicy policy;  // Null means the global policy
+    private final WaitMode mode;  // Null means the global mode
 
     public WaitUtil(WebDriver driver) {
-        this.driver = driver;
-        this.defaultTimeout = loadDefaultTimeoutFromConfig();
-    }
-
-    private int loadDefaultTimeoutFromConfig() {
-        Properties properties = new Properties();
-        try {
-            InputStream input = getClass().getClassLoader().getResourceAsStream("config.properties");
-            if (input == null) {
-                System.err.println("Unable to find config.properties");
-                return 10;
-            }
-            properties.load(input);
-            input.close();
-            return Integer.parseInt(properties.getProperty("defaultTimeout", "10"));
-        } catch (Exception e) {
-            System.err.println("Failed to load default timeout. Using default value of 10 seconds.");
-            return 10;
+        this(new WaitEngine(driver), new InBrowserWait(driver), TestConfig.get().getInt("defaultTimeout", 10), null, null);
+    }
+
+    private WaitUtil(WaitEngine engine, InBrowserWait inBrowserWait, int defaultTimeout, PollingPolicy policy, WaitMode mode) {
+        this.engine = engine;
+        this.inBrowserWait = inBrowserWait;
+        this.defaultTimeout = defaultTimeout;
+        this.policy = policy;
+        this.mode = mode;
+    }
+
+    /**
+     * The mode used when no per-call mode is given. Configured with {@code wait_mode}, defaults to polling.
+     *
+     * @return The global wait mode
+     */
+    public static WaitMode getGlobalMode() {
+        WaitMode waitMode = globalMode;
+        if (waitMode == null) {
+            waitMode = WaitMode.fromString(TestConfig.get().getString("wait_mode", "polling"));
+            globalMode = waitMode;
+        }
+        return waitMode;
+    }
+
+    /**
+     * Get a view of this WaitUtil that polls with another policy, e.g. for a single slow wait:
+     * <pre>
+     * waitUtil.withPolling(PollingPolicy.fixed(Duration.ofSeconds(1))).waitForPageLoad(60);
+     * </pre>
+     *
+     * @param policy Polling policy for waits started from the returned WaitUtil
+     * @return A WaitUtil sharing this one's driver and engine
+     */
+    public WaitUtil withPolling(PollingPolicy policy) {
+        return new WaitUtil(engine, inBrowserWait, defaultTimeout, policy, mode);
+    }
+
+    /**
+     * Get a view of this WaitUtil that waits in the given mode.
+     *
+     * @param mode Wait mode for waits started from the returned WaitUtil
+     * @return A WaitUtil sharing this one's driver and engine
+     */
+    public WaitUtil withMode(WaitMode mode) {
+        return new WaitUtil(engine, inBrowserWait, defaultTimeout, policy, mode);
+    }
+
+    private <T> T until(String name, ExpectedCondition<T> condition, int timeout) {
+        return until(name, condition, Duration.ofSeconds(timeout));
+    }
+
+    private <T> T until(String name, ExpectedCondition<T> condition, Duration timeout) {
+        PollingPolicy pollingPolicy = policy != null ? policy : WaitEngine.getGlobalPolicy();
+        return engine.until(name, condition, timeout, pollingPolicy);
+    }
+
+    /**
+     * Wait in the page when in-browser mode is active and the locator is supported, otherwise poll.
+     * If the in-page wait is interrupted (e.g. by a navigation), polling continues for the remaining time.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T until(String name, InBrowserWait.Condition inBrowserCondition, By locator, ExpectedCondition<T> pollingCondition, int timeout) {
+        WaitMode waitMode = mode != null ? mode : getGlobalMode();
+        boolean supported = inBrowserCondition.isDocumentState() || InBrowserWait.supports(locator);
+        if (waitMode != WaitMode.IN_BROWSER || !supported) {
+            return until(name, pollingCondition, timeout);
+        }
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(timeout).toNanos();
+        Object result = inBrowserWait.waitFor(inBrowserCondition, locator, Duration.ofSeconds(timeout));
+        if (result != null) {
+            return (T) result;
         }
+        return until(name, pollingCondition, Duration.ofNanos(Math.max(deadline - System.nanoTime(), 0)));
+    }
+
+    /**
+     * Wait for a custom condition with the default timeout and the active polling policy.
+     *
+     * @param name      Condition name used for wait metrics
+     * @param condition Condition returning a non-null value other than false once met
+     * @return The value returned by the condition
+     */
+    public <T> T waitUntil(String name, ExpectedCondition<T> condition) {
+        return until(name, condition, defaultTimeout);
     }
 
     public WebElement waitForElementToBeVisible(By locator) {
-        return new WebDriverWait(driver, Duration.ofSeconds(defaultTimeout))
-                .until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return waitForElementToBeVisible(locator, defaultTimeout);
     }
 
     public WebElement waitForElementToBeVisible(By locator, int timeout) {
-        return new WebDriverWait(driver, Duration.ofSeconds(timeout))
-                .until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return until("visibility", InBrowserWait.Condition.VISIBLE, locator, ExpectedConditions.visibilityOfElementLocated(locator), timeout);
     }
 
     public WebElement waitForElementToBeClickable(By locator) {
-        return new WebDriverWait(driver, Duration.ofSeconds(defaultTimeout))
-                .until(ExpectedConditions.elementToBeClickable(locator));
+        return waitForElementToBeClickable(locator, defaultTimeout);
     }
 
     public WebElement waitForElementToBeClickable(By locator, int timeout) {
-        return new WebDriverWait(driver, Duration.ofSeconds(timeout))
-                .until(ExpectedConditions.elementToBeClickable(locator));
+        return until("clickable", InBrowserWait.Condition.CLICKABLE, locator, ExpectedConditions.elementToBeClickable(locator), timeout);
     }
 
     public WebElement waitForElementToBePresent(By locator) {
-        return new WebDriverWait(driver, Duration.ofSeconds(defaultTimeout))
-                .until(ExpectedConditions.presenceOfElementLocated(locator));
+        return waitForElementToBePresent(locator, defaultTimeout);
     }
 
     public WebElement waitForElementToBePresent(By locator, int timeout) {
-        return new WebDriverWait(driver, Duration.ofSeconds(timeout))
-                .until(ExpectedConditions.presenceOfElementLocated(locator));
+        return until("presence", InBrowserWait.Condition.PRESENT, locator, ExpectedConditions.presenceOfElementLocated(locator), timeout);
     }
 
     public void waitForPageLoad() {
-        new WebDriverWait(driver, Duration.ofSeconds(defaultTimeout))
-                .until(webDriver -> ((JavascriptExecutor) webDriver)
-                        .executeScript("return document.readyState").equals("complete"));
+        waitForPageLoad(defaultTimeout);
     }
 
     public void waitForPageLoad(int timeout) {
-        new WebDriverWait(driver, Duration.ofSeconds(timeout))
-                .until(webDriver -> ((JavascriptExecutor) webDriver)
-                        .executeScript("return document.readyState").equals("complete"));
+        until("pageLoad", InBrowserWait.Condition.PAGE_LOAD, null, webDriver -> ((JavascriptExecutor) webDriver)
+                .executeScript("return document.readyState").equals("complete"), timeout);
+    }
+
+    public void waitForDomInteractive() {
+        waitForDomInteractive(defaultTimeout);
+    }
+
+    /**
+     * Wait until the document has been parsed, without waiting for images, stylesheets and subframes.
+     *
+     * @param timeout Timeout in seconds
+     */
+    public void waitForDomInteractive(int timeout) {
+        until("domInteractive", InBrowserWait.Condition.DOM_INTERACTIVE, null, webDriver -> !((JavascriptExecutor) webDriver)
+                .executeScript("return document.readyState").equals("loading"), timeout);
     }
 
     public Alert waitForAlert() {
-        return new WebDriverWait(driver, Duration.ofSeconds(defaultTimeout))
-                .until(ExpectedConditions.alertIsPresent());
+        return waitForAlert(defaultTimeout);
     }
 
     public Alert waitForAlert(int timeout) {
-        return new WebDriverWait(driver, Duration.ofSeconds(timeout))
-                .until(ExpectedConditions.alertIsPresent());
+        return until("alert", ExpectedConditions.alertIsPresent(), timeout);
     }
 
     public boolean waitForAttributeToContain(By locator, String attribute, String value) {
-        return new WebDriverWait(driver, Duration.ofSeconds(defaultTimeout))
-                .until(ExpectedConditions.attributeContains(locator, attribute, value));
+        return waitForAttributeToContain(locator, attribute, value, defaultTimeout);
     }
 
     public boolean waitForAttributeToContain(By locator, String attribute, String value, int timeout) {
-        return new WebDriverWait(driver, Duration.ofSeconds(timeout))
-                .until(ExpectedConditions.attributeContains(locator, attribute, value));
+        return until("attributeContains", ExpectedConditions.attributeContains(locator, attribute, value), timeout);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,132 @@
+// Offline stand-in of the Sauce Demo storefront: catalog, cart and checkout state.
+// The cart lives in localStorage under "cart-contents" as a list of product ids, like on the real site.
+var PRODUCTS = [
+    {id: 4, slug: 'sauce-labs-backpack', name: 'Sauce Labs Backpack', price: 29.99},
+    {id: 0, slug: 'sauce-labs-bike-light', name: 'Sauce Labs Bike Light', price: 9.99},
+    {id: 1, slug: 'sauce-labs-bolt-t-shirt', name: 'Sauce Labs Bolt T-Shirt', price: 15.99},
+    {id: 5, slug: 'sauce-labs-fleece-jacket', name: 'Sauce Labs Fleece Jacket', price: 49.99},
+    {id: 2, slug: 'sauce-labs-onesie', name: 'Sauce Labs Onesie', price: 7.99},
+    {id: 3, slug: 'test.allthethings()-t-shirt-(red)', name: 'Test.allTheThings() T-Shirt (Red)', price: 15.99}
+];
+var TAX_RATE = 0.08;
+
+function getCart() {
+    try {
+        return JSON.parse(window.localStorage.getItem('cart-contents')) || [];
+    } catch (e) {
+        return [];
+    }
+}
+
+function setCart(ids) {
+    window.localStorage.setItem('cart-contents', JSON.stringify(ids));
+    renderCartBadge();
+}
+
+function findProduct(id) {
+    for (var i = 0; i < PRODUCTS.length; i++) {
+        if (PRODUCTS[i].id === id) return PRODUCTS[i];
+    }
+    return null;
+}
+
+function renderCartBadge() {
+    var link = document.querySelector("[data-test='shopping-cart-link']");
+    if (!link) return;
+    var badge = link.querySelector("[data-test='shopping-cart-badge']");
+    var count = getCart().length;
+    if (count === 0) {
+        if (badge) badge.remove();
+        return;
+    }
+    if (!badge) {
+        badge = document.createElement('span');
+        badge.className = 'shopping_cart_badge';
+        badge.setAttribute('data-test', 'shopping-cart-badge');
+        link.appendChild(badge);
+    }
+    badge.textContent = String(count);
+}
+
+function element(tag, className, dataTest, text) {
+    var el = document.createElement(tag);
+    if (className) el.className = className;
+    if (dataTest) el.setAttribute('data-test', dataTest);
+    if (text !== undefined) el.textContent = text;
+    return el;
+}
+
+function renderInventory() {
+    var list = document.querySelector("[data-test='inventory-list']");
+    PRODUCTS.forEach(function (product) {
+        var item = element('div', 'inventory_item', 'inventory-item');
+        item.appendChild(element('div', 'inventory_item_name', 'inventory-item-name', product.name));
+        item.appendChild(element('div', 'inventory_item_price', 'inventory-item-price', '$' + product.price.toFixed(2)));
+        var button = element('button', 'btn btn_inventory', null);
+        function update() {
+            var inCart = getCart().indexOf(product.id) >= 0;
+            button.textContent = inCart ? 'Remove' : 'Add to cart';
+            button.setAttribute('data-test', (inCart ? 'remove-' : 'add-to-cart-') + product.slug);
+        }
+        button.addEventListener('click', function () {
+            var cart = getCart();
+            var index = cart.indexOf(product.id);
+            if (index >= 0) {
+                cart.splice(index, 1);
+            } else {
+                cart.push(product.id);
+            }
+            setCart(cart);
+            update();
+        });
+        update();
+        item.appendChild(button);
+        list.appendChild(item);
+    });
+    renderCartBadge();
+}
+
+function renderCart() {
+    var list = document.querySelector("[data-test='cart-list']");
+    getCart().forEach(function (id) {
+        var product = findProduct(id);
+        if (!product) return;
+        var item = element('div', 'cart_item', 'inventory-item');
+        item.appendChild(element('div', 'cart_quantity', 'item-quantity', '1'));
+        item.appendChild(element('div', 'inventory_item_name', 'inventory-item-name', product.name));
+        item.appendChild(element('div', 'inventory_item_price', 'inventory-item-price', '$' + product.price.toFixed(2)));
+        list.appendChild(item);
+    });
+    renderCartBadge();
+}
+
+function initCheckoutInformation() {
+    document.querySelector("[data-test='continue']").addEventListener('click', function (event) {
+        event.preventDefault();
+        var fields = [['firstName', 'First Name'], ['lastName', 'Last Name'], ['postalCode', 'Postal Code']];
+        for (var i = 0; i < fields.length; i++) {
+            var value = document.querySelector("[data-test='" + fields[i][0] + "']").value;
+            if (!value) {
+                var error = document.querySelector("[data-test='error']");
+                error.textContent = 'Error: ' + fields[i][1] + ' is required';
+                error.style.display = 'block';
+                return;
+            }
+        }
+        window.location.href = 'checkout-step-two.html';
+    });
+    renderCartBadge();
+}
+
+function renderSummary() {
+    renderCart();
+    var subtotal = 0;
+    getCart().forEach(function (id) {
+        var product = findProduct(id);
+        if (product) subtotal += product.price;
+    });
+    var tax = Math.round(subtotal * TAX_RATE * 100) / 100;
+    document.querySelector("[data-test='subtotal-label']").textContent = 'Item total: $' + subtotal.toFixed(2);
+    document.querySelector("[data-test='tax-label']").textContent = 'Tax: $' + tax.toFixed(2);
+    document.querySelector("[data-test='total-label']").textContent = 'Total: $' + (subtotal + tax).toFixed(2);
+}